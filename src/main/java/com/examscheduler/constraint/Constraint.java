@@ -1,9 +1,93 @@
 package com.examscheduler.constraint;
 
+import com.examscheduler.entity.ExamSession;
 import com.examscheduler.entity.Schedule;
 
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * A rule a schedule has to satisfy. {@link #check} reports the violations of a whole
+ * schedule as {@link Violation}s; {@link #validate} gives their messages. By default
+ * {@link #check} wraps each message of {@link #validate} as an {@link Violation.Type#OTHER}
+ * violation; the built-in constraints implement {@link #check} and format messages only
+ * for {@link #validate}.
+ *
+ * For a schedule under edit a constraint can also keep its violations up to date through
+ * a {@link Tracker} from {@link #track}. The tracker holds all incremental state, so one
+ * constraint can be added to several schedules and track each of them. The built-in
+ * constraints update in time proportional to the change. By default a change only marks
+ * the cached result stale and the next {@link Tracker#getViolations} runs {@link #check}
+ * again. A session's students must not change while the session is part of the schedule.
+ */
 public abstract class Constraint {
+
+    /**
+     * Current violations of one schedule: the session hooks are called after each change
+     * and {@link #getViolations} returns the violations as of the last reported change.
+     */
+    public interface Tracker {
+        void sessionAdded(ExamSession session);
+
+        void sessionRemoved(ExamSession session);
+
+        /**
+         * Called after the session's time slot or room changed.
+         */
+        void sessionMoved(ExamSession session);
+
+        List<Violation> getViolations();
+    }
+
     public abstract List<String> validate(Schedule schedule);
+
+    public List<Violation> check(Schedule schedule) {
+        List<Violation> violations = new ArrayList<>();
+        for (String message : validate(schedule)) {
+            violations.add(Violation.of(message));
+        }
+        return violations;
+    }
+
+    /**
+     * Starts tracking the schedule's violations, loading every session it has now.
+     */
+    public Tracker track(Schedule schedule) {
+        return new CachedCheck(schedule);
+    }
+
+    /**
+     * Runs {@link #check} on demand and keeps the result until the next change.
+     */
+    private class CachedCheck implements Tracker {
+        private final Schedule schedule;
+        private List<Violation> cachedViolations;
+
+        CachedCheck(Schedule schedule) {
+            this.schedule = schedule;
+        }
+
+        @Override
+        public void sessionAdded(ExamSession session) {
+            cachedViolations = null;
+        }
+
+        @Override
+        public void sessionRemoved(ExamSession session) {
+            cachedViolations = null;
+        }
+
+        @Override
+        public void sessionMoved(ExamSession session) {
+            cachedViolations = null;
+        }
+
+        @Override
+        public List<Violation> getViolations() {
+            if (cachedViolations == null) {
+                cachedViolations = check(schedule);
+            }
+            return new ArrayList<>(cachedViolations);
+        }
+    }
 }
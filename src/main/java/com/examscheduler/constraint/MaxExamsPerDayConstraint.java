@@ -1,11 +1,16 @@
 package com.examscheduler.constraint;
 
+import com.examscheduler.entity.ExamSession;
 import com.examscheduler.entity.Schedule;
 import com.examscheduler.entity.Student;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 public class MaxExamsPerDayConstraint extends Constraint {
@@ -21,30 +26,49 @@ public class MaxExamsPerDayConstraint extends Constraint {
 
     @Override
     public List<String> validate(Schedule schedule) {
-        List<String> violations = new ArrayList<>();
+        return Violation.messages(check(schedule));
+    }
+
+    @Override
+    public List<Violation> check(Schedule schedule) {
+        List<Violation> violations = new ArrayList<>();
 
         if (schedule == null) {
             return violations;
         }
 
-        Set<Student> students = schedule.getAllStudents();
-        Set<LocalDate> dates = schedule.getAllDates();
+        // One pass over the schedule's own sessions fills a dense (student, date) count
+        // table; the students' linked sessions are not consulted, so a candidate schedule
+        // is judged only by what it contains.
+        List<ExamSession> sessions = schedule.getExamSessions();
+        Student[] students = schedule.getAllStudents().toArray(new Student[0]);
+        LocalDate[] dates = schedule.getAllDates().toArray(new LocalDate[0]);
+        Map<Student, Integer> studentIndex = new HashMap<>();
+        for (int i = 0; i < students.length; i++) {
+            studentIndex.put(students[i], i);
+        }
+        Map<LocalDate, Integer> dateIndex = new HashMap<>();
+        for (int d = 0; d < dates.length; d++) {
+            dateIndex.put(dates[d], d);
+        }
+
+        int[] counts = new int[students.length * dates.length];
+        for (ExamSession session : sessions) {
+            if (session.getTimeSlot() == null || session.getTimeSlot().getDate() == null) {
+                continue;
+            }
+            int d = dateIndex.get(session.getTimeSlot().getDate());
+            for (Student student : session.getAssignedStudents()) {
+                counts[studentIndex.get(student) * dates.length + d]++;
+            }
+        }
 
-        for (Student student : students) {
-            for (LocalDate date : dates) {
-                int count = student.getDailyExamCount(date);
+        for (int i = 0; i < students.length; i++) {
+            for (int d = 0; d < dates.length; d++) {
+                int count = counts[i * dates.length + d];
 
                 if (count > maxExamsPerDay) {
-                    String violation = String.format(
-                        "MAX EXAMS VIOLATION: Student %s (%s) has %d exams on %s " +
-                        "(maximum allowed: %d)",
-                        student.getStudentId(),
-                        student.getFullName(),
-                        count,
-                        date,
-                        maxExamsPerDay
-                    );
-                    violations.add(violation);
+                    violations.add(violation(students[i], dates[d], count));
                 }
             }
         }
@@ -52,6 +76,32 @@ public class MaxExamsPerDayConstraint extends Constraint {
         return violations;
     }
 
+    private Violation violation(Student student, LocalDate date, int count) {
+        int limit = maxExamsPerDay;
+        return new Violation(Violation.Type.MAX_EXAMS_PER_DAY, Violation.Severity.HARD, student.getStudentId(),
+                null, null, null, date, count, limit,
+                () -> String.format(
+                    "MAX EXAMS VIOLATION: Student %s (%s) has %d exams on %s " +
+                    "(maximum allowed: %d)",
+                    student.getStudentId(),
+                    student.getFullName(),
+                    count,
+                    date,
+                    limit
+                ));
+    }
+
+    @Override
+    public Tracker track(Schedule schedule) {
+        DailyCountTracker tracker = new DailyCountTracker();
+        if (schedule != null) {
+            for (ExamSession session : schedule.getExamSessions()) {
+                tracker.sessionAdded(session);
+            }
+        }
+        return tracker;
+    }
+
     public int getMaxExamsPerDay() {
         return maxExamsPerDay;
     }
@@ -60,10 +110,109 @@ public class MaxExamsPerDayConstraint extends Constraint {
         this.maxExamsPerDay = maxExamsPerDay;
     }
 
+    /**
+     * Exams per (student, date) over the tracked sessions, the dates the sessions were
+     * counted on, and the (student, date) pairs over the limit the tracker last saw; a
+     * changed limit is picked up on the next change or query.
+     */
+    private class DailyCountTracker implements Tracker {
+        private final Map<StudentDate, Integer> dailyCounts = new HashMap<>();
+        private final Map<ExamSession, LocalDate> countedDates = new HashMap<>();
+        private final Set<StudentDate> overLimit = new LinkedHashSet<>();
+        private int limit = maxExamsPerDay;
+
+        @Override
+        public void sessionAdded(ExamSession session) {
+            applyLimit();
+            if (session.getTimeSlot() == null || session.getTimeSlot().getDate() == null) {
+                return;
+            }
+            LocalDate date = session.getTimeSlot().getDate();
+            countedDates.put(session, date);
+            for (Student student : session.getAssignedStudents()) {
+                StudentDate key = new StudentDate(student, date);
+                if (dailyCounts.merge(key, 1, Integer::sum) > limit) {
+                    overLimit.add(key);
+                }
+            }
+        }
+
+        @Override
+        public void sessionRemoved(ExamSession session) {
+            applyLimit();
+            LocalDate date = countedDates.remove(session);
+            if (date == null) {
+                return;
+            }
+            for (Student student : session.getAssignedStudents()) {
+                StudentDate key = new StudentDate(student, date);
+                int count = dailyCounts.merge(key, -1, Integer::sum);
+                if (count <= 0) {
+                    dailyCounts.remove(key);
+                }
+                if (count <= limit) {
+                    overLimit.remove(key);
+                }
+            }
+        }
+
+        @Override
+        public void sessionMoved(ExamSession session) {
+            sessionRemoved(session);
+            sessionAdded(session);
+        }
+
+        @Override
+        public List<Violation> getViolations() {
+            applyLimit();
+            List<Violation> violations = new ArrayList<>();
+            for (StudentDate key : overLimit) {
+                violations.add(violation(key.student, key.date, dailyCounts.get(key)));
+            }
+            return violations;
+        }
+
+        private void applyLimit() {
+            if (limit == maxExamsPerDay) {
+                return;
+            }
+            limit = maxExamsPerDay;
+            overLimit.clear();
+            for (Map.Entry<StudentDate, Integer> entry : dailyCounts.entrySet()) {
+                if (entry.getValue() > limit) {
+                    overLimit.add(entry.getKey());
+                }
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return "MaxExamsPerDayConstraint{" +
                 ", maxExamsPerDay=" + maxExamsPerDay +
                 '}';
     }
+
+    private static final class StudentDate {
+        private final Student student;
+        private final LocalDate date;
+
+        StudentDate(Student student, LocalDate date) {
+            this.student = student;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof StudentDate)) return false;
+            StudentDate that = (StudentDate) o;
+            return student.equals(that.student) && date.equals(that.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(student, date);
+        }
+    }
 }
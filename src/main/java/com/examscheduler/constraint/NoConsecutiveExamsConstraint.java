@@ -3,62 +3,266 @@ package com.examscheduler.constraint;
 import com.examscheduler.entity.ExamSession;
 import com.examscheduler.entity.Schedule;
 import com.examscheduler.entity.Student;
+import com.examscheduler.entity.TimeSlot;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+/**
+ * Students need rest between exams on the same day: an exam that starts right when the
+ * previous one ends, or less than {@code minimumGapMinutes} after it, is a violation. The
+ * default gap of 0 only flags exams that are exactly back to back.
+ *
+ * Each student's sessions are sorted by date and start time once, and each session is only
+ * compared with the earlier sessions of its day that end no more than the minimum gap
+ * before it starts, so a student with k sessions costs O(k log k) plus the pairs close in
+ * time.
+ */
 public class NoConsecutiveExamsConstraint extends Constraint {
+    private static final Comparator<ExamSession> TIMELINE = Comparator
+            .comparing((ExamSession session) -> session.getTimeSlot().getDate())
+            .thenComparing(session -> session.getTimeSlot().getStartTime())
+            .thenComparing(session -> session.getTimeSlot().getEndTime());
+
+    private int minimumGapMinutes;
+
+    public NoConsecutiveExamsConstraint() {
+        this(0);
+    }
+
+    public NoConsecutiveExamsConstraint(int minimumGapMinutes) {
+        this.minimumGapMinutes = Math.max(0, minimumGapMinutes);
+    }
+
+    /**
+     * The shared rest rule: true when both slots are on the same date, do not overlap and
+     * the later one starts when the earlier one ends or less than {@code minimumGapMinutes}
+     * after it.
+     */
+    public static boolean isTooClose(TimeSlot first, TimeSlot second, int minimumGapMinutes) {
+        if (!isComplete(first) || !isComplete(second) || !first.getDate().equals(second.getDate())) {
+            return false;
+        }
+        if (!first.getEndTime().isAfter(second.getStartTime())) {
+            return isTooClose(Duration.between(first.getEndTime(), second.getStartTime()), minimumGapMinutes);
+        }
+        if (!second.getEndTime().isAfter(first.getStartTime())) {
+            return isTooClose(Duration.between(second.getEndTime(), first.getStartTime()), minimumGapMinutes);
+        }
+        return false;
+    }
+
+    /**
+     * The rest rule on a gap that was already measured; a negative gap (overlapping exams)
+     * is left to {@link NoOverlapConstraint}.
+     */
+    public static boolean isTooClose(Duration gap, int minimumGapMinutes) {
+        return !gap.isNegative() && (gap.isZero() || gap.compareTo(Duration.ofMinutes(minimumGapMinutes)) < 0);
+    }
+
+    private static boolean isComplete(TimeSlot slot) {
+        return slot != null && slot.getDate() != null && slot.getStartTime() != null && slot.getEndTime() != null;
+    }
 
     @Override
     public List<String> validate(Schedule schedule) {
-        List<String> violations = new ArrayList<>();
+        return Violation.messages(check(schedule));
+    }
+
+    @Override
+    public List<Violation> check(Schedule schedule) {
+        List<Violation> violations = new ArrayList<>();
 
         if (schedule == null) {
             return violations;
         }
 
         Set<Student> students = schedule.getAllStudents();
+        Map<Student, List<ExamSession>> studentSessions = new HashMap<>();
+        for (ExamSession session : schedule.getExamSessions()) {
+            for (Student student : session.getAssignedStudents()) {
+                studentSessions.computeIfAbsent(student, s -> new ArrayList<>()).add(session);
+            }
+        }
 
         for (Student student : students) {
-            List<ExamSession> sessions = schedule.getSessionsForStudent(student);
+            for (ExamSession[] pair : timelinePairs(studentSessions.get(student))) {
+                violations.add(violation(student, pair[0], pair[1]));
+            }
+        }
 
-            for (int i = 0; i < sessions.size(); i++) {
-                ExamSession session1 = sessions.get(i);
-                if (session1.getTimeSlot() == null) {
-                    continue;
+        return violations;
+    }
+
+    /**
+     * Pairs of sessions that are too close, earlier session first. Each session is compared
+     * with every earlier session of the same date that may still be too close to it, so a
+     * short gap hidden behind an overlapping session is caught as well.
+     */
+    private List<ExamSession[]> timelinePairs(List<ExamSession> sessions) {
+        List<ExamSession[]> pairs = new ArrayList<>();
+        if (sessions == null || sessions.size() < 2) {
+            return pairs;
+        }
+        List<ExamSession> timeline = new ArrayList<>(sessions.size());
+        for (ExamSession session : sessions) {
+            if (isComplete(session.getTimeSlot())) {
+                timeline.add(session);
+            }
+        }
+        timeline.sort(TIMELINE);
+
+        // Starts only grow along the timeline, so a session that ended at least the minimum gap
+        // (and some time) before one session starts is far enough from every later one too.
+        List<ExamSession> recent = new ArrayList<>();
+        for (ExamSession session : timeline) {
+            TimeSlot slot = session.getTimeSlot();
+            if (!recent.isEmpty() && !recent.get(0).getTimeSlot().getDate().equals(slot.getDate())) {
+                recent.clear();
+            }
+            recent.removeIf(earlier -> {
+                Duration gap = Duration.between(earlier.getTimeSlot().getEndTime(), slot.getStartTime());
+                return !gap.isNegative() && !isTooClose(gap, minimumGapMinutes);
+            });
+            for (ExamSession earlier : recent) {
+                if (isTooClose(earlier.getTimeSlot(), slot, minimumGapMinutes)) {
+                    pairs.add(new ExamSession[]{earlier, session});
                 }
+            }
+            recent.add(session);
+        }
+        return pairs;
+    }
+
+    private Violation violation(Student student, ExamSession session1, ExamSession session2) {
+        TimeSlot slot1 = session1.getTimeSlot();
+        TimeSlot slot2 = session2.getTimeSlot();
+        return new Violation(Violation.Type.CONSECUTIVE_EXAMS, Violation.Severity.SOFT, student.getStudentId(),
+                Violation.examIdsOf(session1, session2), Violation.sessionIdsOf(session1, session2), null,
+                slot1.getDate(), Duration.between(slot1.getEndTime(), slot2.getStartTime()).toMinutes(),
+                minimumGapMinutes,
+                () -> String.format(
+                    "CONSECUTIVE EXAMS VIOLATION: Student %s (%s) has back-to-back exams: " +
+                    "Session %s at %s and Session %s at %s",
+                    student.getStudentId(),
+                    student.getFullName(),
+                    session1.getSessionId(),
+                    slot1,
+                    session2.getSessionId(),
+                    slot2
+                ));
+    }
 
-                for (int j = i + 1; j < sessions.size(); j++) {
-                    ExamSession session2 = sessions.get(j);
-                    if (session2.getTimeSlot() == null) {
-                        continue;
-                    }
-
-                    if (!session1.getTimeSlot().getDate().equals(session2.getTimeSlot().getDate())) {
-                        continue;
-                    }
-
-                    boolean consecutive = session1.getTimeSlot().getEndTime().equals(session2.getTimeSlot().getStartTime()) ||
-                        session2.getTimeSlot().getEndTime().equals(session1.getTimeSlot().getStartTime());
-
-                    if (consecutive) {
-                        String violation = String.format(
-                            "CONSECUTIVE EXAMS VIOLATION: Student %s (%s) has back-to-back exams: " +
-                            "Session %s at %s and Session %s at %s",
-                            student.getStudentId(),
-                            student.getFullName(),
-                            session1.getSessionId(),
-                            session1.getTimeSlot(),
-                            session2.getSessionId(),
-                            session2.getTimeSlot()
-                        );
-                        violations.add(violation);
-                    }
+    @Override
+    public Tracker track(Schedule schedule) {
+        TimelineTracker tracker = new TimelineTracker();
+        if (schedule != null) {
+            for (ExamSession session : schedule.getExamSessions()) {
+                tracker.sessionAdded(session);
+            }
+        }
+        return tracker;
+    }
+
+    public int getMinimumGapMinutes() {
+        return minimumGapMinutes;
+    }
+
+    public void setMinimumGapMinutes(int minimumGapMinutes) {
+        this.minimumGapMinutes = Math.max(0, minimumGapMinutes);
+    }
+
+    /**
+     * Each student's sessions and the pairs found in their timeline under the gap the
+     * tracker last saw; a changed gap rechecks every student on the next change or query.
+     */
+    private class TimelineTracker implements Tracker {
+        private final Map<Student, List<ExamSession>> sessionsByStudent = new HashMap<>();
+        private final Map<ExamSession, List<Student>> studentsBySession = new HashMap<>();
+        private final Map<Student, List<ExamSession[]>> pairsByStudent = new LinkedHashMap<>();
+        private int gap = minimumGapMinutes;
+
+        @Override
+        public void sessionAdded(ExamSession session) {
+            applyGap();
+            List<Student> students = session.getAssignedStudents();
+            studentsBySession.put(session, students);
+            for (Student student : students) {
+                sessionsByStudent.computeIfAbsent(student, s -> new ArrayList<>()).add(session);
+                recheck(student);
+            }
+        }
+
+        @Override
+        public void sessionRemoved(ExamSession session) {
+            applyGap();
+            List<Student> students = studentsBySession.remove(session);
+            if (students == null) {
+                return;
+            }
+            for (Student student : students) {
+                List<ExamSession> sessions = sessionsByStudent.get(student);
+                sessions.remove(session);
+                if (sessions.isEmpty()) {
+                    sessionsByStudent.remove(student);
                 }
+                recheck(student);
             }
         }
 
-        return violations;
+        @Override
+        public void sessionMoved(ExamSession session) {
+            applyGap();
+            List<Student> students = studentsBySession.get(session);
+            if (students != null) {
+                for (Student student : students) {
+                    recheck(student);
+                }
+            }
+        }
+
+        @Override
+        public List<Violation> getViolations() {
+            applyGap();
+            List<Violation> violations = new ArrayList<>();
+            for (Map.Entry<Student, List<ExamSession[]>> entry : pairsByStudent.entrySet()) {
+                for (ExamSession[] pair : entry.getValue()) {
+                    violations.add(violation(entry.getKey(), pair[0], pair[1]));
+                }
+            }
+            return violations;
+        }
+
+        private void recheck(Student student) {
+            List<ExamSession[]> pairs = timelinePairs(sessionsByStudent.get(student));
+            if (pairs.isEmpty()) {
+                pairsByStudent.remove(student);
+            } else {
+                pairsByStudent.put(student, pairs);
+            }
+        }
+
+        private void applyGap() {
+            if (gap == minimumGapMinutes) {
+                return;
+            }
+            gap = minimumGapMinutes;
+            for (Student student : new ArrayList<>(sessionsByStudent.keySet())) {
+                recheck(student);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NoConsecutiveExamsConstraint{" +
+                "minimumGapMinutes=" + minimumGapMinutes +
+                '}';
     }
 }
@@ -1,18 +1,33 @@
 package com.examscheduler.constraint;
 
 import com.examscheduler.entity.ExamSession;
+import com.examscheduler.entity.Room;
 import com.examscheduler.entity.Schedule;
 import com.examscheduler.entity.Student;
+import com.examscheduler.entity.TimeSlot;
 
+import java.time.Duration;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class NoOverlapConstraint extends Constraint {
 
     @Override
     public List<String> validate(Schedule schedule) {
-        List<String> violations = new ArrayList<>();
+        return Violation.messages(check(schedule));
+    }
+
+    @Override
+    public List<Violation> check(Schedule schedule) {
+        List<Violation> violations = new ArrayList<>();
 
         if (schedule == null) {
             return violations;
@@ -21,64 +36,181 @@ public class NoOverlapConstraint extends Constraint {
         Set<Student> students = schedule.getAllStudents();
         List<ExamSession> allSessions = schedule.getExamSessions();
 
-        for (Student student : students) {
-            List<ExamSession> studentSessions = schedule.getSessionsForStudent(student);
-
-            for (int i = 0; i < studentSessions.size(); i++) {
-                ExamSession session1 = studentSessions.get(i);
-
-                for (int j = i + 1; j < studentSessions.size(); j++) {
-                    ExamSession session2 = studentSessions.get(j);
-
-                    if (session1.getTimeSlot() != null &&
-                        session2.getTimeSlot() != null &&
-                        session1.getTimeSlot().overlaps(session2.getTimeSlot())) {
-
-                        String violation = String.format(
-                            "OVERLAP VIOLATION: Student %s (%s) has overlapping exams: " +
-                            "Session %s at %s and Session %s at %s",
-                            student.getStudentId(),
-                            student.getFullName(),
-                            session1.getSessionId(),
-                            session1.getTimeSlot(),
-                            session2.getSessionId(),
-                            session2.getTimeSlot()
-                        );
-                        violations.add(violation);
-                    }
+        // One pass builds both indexes; each list keeps the schedule's session order, so
+        // the violations come out in the same order as from comparing every pair.
+        Map<Student, List<ExamSession>> sessionsByStudent = new HashMap<>();
+        Map<Room, List<Integer>> sessionsByRoom = new LinkedHashMap<>();
+        for (int i = 0; i < allSessions.size(); i++) {
+            ExamSession session = allSessions.get(i);
+            for (Student student : session.getAssignedStudents()) {
+                List<ExamSession> studentSessions = sessionsByStudent.computeIfAbsent(student, s -> new ArrayList<>());
+                if (studentSessions.isEmpty() || studentSessions.get(studentSessions.size() - 1) != session) {
+                    studentSessions.add(session);
                 }
             }
+            if (session.getRoom() != null && session.getTimeSlot() != null) {
+                sessionsByRoom.computeIfAbsent(session.getRoom(), r -> new ArrayList<>()).add(i);
+            }
         }
 
-        for (int i = 0; i < allSessions.size(); i++) {
-            ExamSession first = allSessions.get(i);
-            if (first.getRoom() == null || first.getTimeSlot() == null) {
-                continue;
+        for (Student student : students) {
+            List<ExamSession> studentSessions = sessionsByStudent.get(student);
+            for (long pair : overlappingPairs(studentSessions)) {
+                violations.add(studentOverlap(student,
+                        studentSessions.get((int) (pair >>> 32)), studentSessions.get((int) pair)));
             }
+        }
 
-            for (int j = i + 1; j < allSessions.size(); j++) {
-                ExamSession second = allSessions.get(j);
-                if (second.getRoom() == null || second.getTimeSlot() == null) {
-                    continue;
-                }
+        List<Long> roomPairs = new ArrayList<>();
+        for (List<Integer> roomSessionIndexes : sessionsByRoom.values()) {
+            List<ExamSession> roomSessions = new ArrayList<>(roomSessionIndexes.size());
+            for (int index : roomSessionIndexes) {
+                roomSessions.add(allSessions.get(index));
+            }
+            for (long pair : overlappingPairs(roomSessions)) {
+                roomPairs.add((long) roomSessionIndexes.get((int) (pair >>> 32)) << 32
+                        | roomSessionIndexes.get((int) pair));
+            }
+        }
+        Collections.sort(roomPairs);
+        for (long pair : roomPairs) {
+            violations.add(roomOverlap(allSessions.get((int) (pair >>> 32)), allSessions.get((int) pair)));
+        }
+
+        return violations;
+    }
 
-                boolean sameRoom = first.getRoom().equals(second.getRoom());
-                boolean overlap = first.getTimeSlot().overlaps(second.getTimeSlot());
-
-                if (sameRoom && overlap) {
-                    String violation = String.format(
-                        "ROOM OVERLAP VIOLATION: Room %s has overlapping sessions %s and %s at %s / %s",
-                        first.getRoom().getRoomName(),
-                        first.getSessionId(),
-                        second.getSessionId(),
-                        first.getTimeSlot(),
-                        second.getTimeSlot()
-                    );
-                    violations.add(violation);
+    /**
+     * Overlapping pairs among the sessions as {@code i << 32 | j} with {@code i < j},
+     * sorted. Sessions are swept in order of date and start time while keeping the ones
+     * still running, so only sessions that share some time are compared.
+     */
+    private static long[] overlappingPairs(List<ExamSession> sessions) {
+        List<Integer> timed = new ArrayList<>();
+        for (int i = 0; i < sessions.size(); i++) {
+            TimeSlot slot = sessions.get(i).getTimeSlot();
+            if (slot != null && slot.getDate() != null && slot.getStartTime() != null && slot.getEndTime() != null) {
+                timed.add(i);
+            }
+        }
+        if (timed.size() < 2) {
+            return new long[0];
+        }
+        timed.sort(Comparator.comparing((Integer i) -> sessions.get(i).getTimeSlot().getDate())
+                .thenComparing(i -> sessions.get(i).getTimeSlot().getStartTime()));
+
+        List<Long> pairs = new ArrayList<>();
+        List<Integer> running = new ArrayList<>();
+        for (int index : timed) {
+            TimeSlot slot = sessions.get(index).getTimeSlot();
+            running.removeIf(other -> !sessions.get(other).getTimeSlot().getDate().equals(slot.getDate())
+                    || !sessions.get(other).getTimeSlot().getEndTime().isAfter(slot.getStartTime()));
+            for (int other : running) {
+                if (sessions.get(other).getTimeSlot().overlaps(slot)) {
+                    pairs.add((long) Math.min(index, other) << 32 | Math.max(index, other));
                 }
             }
+            running.add(index);
         }
 
-        return violations;
+        long[] sorted = new long[pairs.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = pairs.get(i);
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static boolean overlapping(ExamSession session1, ExamSession session2) {
+        return session1.getTimeSlot() != null &&
+            session2.getTimeSlot() != null &&
+            session1.getTimeSlot().overlaps(session2.getTimeSlot());
+    }
+
+    private static Violation studentOverlap(Student student, ExamSession session1, ExamSession session2) {
+        TimeSlot slot1 = session1.getTimeSlot();
+        TimeSlot slot2 = session2.getTimeSlot();
+        return new Violation(Violation.Type.STUDENT_OVERLAP, Violation.Severity.HARD, student.getStudentId(),
+                Violation.examIdsOf(session1, session2), Violation.sessionIdsOf(session1, session2), null,
+                slot1.getDate(), overlapMinutes(slot1, slot2), 0,
+                () -> String.format(
+                    "OVERLAP VIOLATION: Student %s (%s) has overlapping exams: " +
+                    "Session %s at %s and Session %s at %s",
+                    student.getStudentId(),
+                    student.getFullName(),
+                    session1.getSessionId(),
+                    slot1,
+                    session2.getSessionId(),
+                    slot2
+                ));
+    }
+
+    private static Violation roomOverlap(ExamSession first, ExamSession second) {
+        Room room = first.getRoom();
+        TimeSlot slot1 = first.getTimeSlot();
+        TimeSlot slot2 = second.getTimeSlot();
+        return new Violation(Violation.Type.ROOM_OVERLAP, Violation.Severity.HARD, null,
+                Violation.examIdsOf(first, second), Violation.sessionIdsOf(first, second), room.getRoomId(),
+                slot1.getDate(), overlapMinutes(slot1, slot2), 0,
+                () -> String.format(
+                    "ROOM OVERLAP VIOLATION: Room %s has overlapping sessions %s and %s at %s / %s",
+                    room.getRoomName(),
+                    first.getSessionId(),
+                    second.getSessionId(),
+                    slot1,
+                    slot2
+                ));
+    }
+
+    private static long overlapMinutes(TimeSlot slot1, TimeSlot slot2) {
+        LocalTime start = slot1.getStartTime().isAfter(slot2.getStartTime()) ? slot1.getStartTime() : slot2.getStartTime();
+        LocalTime end = slot1.getEndTime().isBefore(slot2.getEndTime()) ? slot1.getEndTime() : slot2.getEndTime();
+        return Duration.between(start, end).toMinutes();
+    }
+
+    @Override
+    public Tracker track(Schedule schedule) {
+        OverlapTracker tracker = new OverlapTracker();
+        if (schedule != null) {
+            for (ExamSession session : schedule.getExamSessions()) {
+                tracker.sessionAdded(session);
+            }
+        }
+        return tracker;
+    }
+
+    private static class OverlapTracker implements Tracker {
+        private final SessionPairIndex<Student> studentOverlaps = new SessionPairIndex<>(NoOverlapConstraint::overlapping);
+        private final SessionPairIndex<Room> roomOverlaps = new SessionPairIndex<>(NoOverlapConstraint::overlapping);
+
+        @Override
+        public void sessionAdded(ExamSession session) {
+            studentOverlaps.add(session, session.getAssignedStudents());
+            roomOverlaps.add(session, session.getRoom() != null ? List.of(session.getRoom()) : List.of());
+        }
+
+        @Override
+        public void sessionRemoved(ExamSession session) {
+            studentOverlaps.remove(session);
+            roomOverlaps.remove(session);
+        }
+
+        @Override
+        public void sessionMoved(ExamSession session) {
+            studentOverlaps.move(session, session.getAssignedStudents());
+            roomOverlaps.move(session, session.getRoom() != null ? List.of(session.getRoom()) : List.of());
+        }
+
+        @Override
+        public List<Violation> getViolations() {
+            List<Violation> violations = new ArrayList<>();
+            for (SessionPairIndex.Pair<Student> pair : studentOverlaps.getPairs()) {
+                violations.add(studentOverlap(pair.key, pair.first, pair.second));
+            }
+            for (SessionPairIndex.Pair<Room> pair : roomOverlaps.getPairs()) {
+                violations.add(roomOverlap(pair.first, pair.second));
+            }
+            return violations;
+        }
     }
 }
@@ -5,38 +5,98 @@ import com.examscheduler.entity.Room;
 import com.examscheduler.entity.Schedule;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class RoomCapacityConstraint extends Constraint {
 
     @Override
     public List<String> validate(Schedule schedule) {
-        List<String> violations = new ArrayList<>();
+        return Violation.messages(check(schedule));
+    }
+
+    @Override
+    public List<Violation> check(Schedule schedule) {
+        List<Violation> violations = new ArrayList<>();
 
         if (schedule == null) {
             return violations;
         }
 
         for (ExamSession session : schedule.getExamSessions()) {
-            Room room = session.getRoom();
-            int assignedCount = session.getAssignedStudents().size();
-            if (room == null) {
-                violations.add(String.format(
-                        "ROOM CAPACITY VIOLATION: Session %s has no room assigned.",
-                        session.getSessionId()
-                ));
-                continue;
-            }
-            if (assignedCount > room.getCapacity()) {
-                violations.add(String.format(
-                        "ROOM CAPACITY VIOLATION: Session %s exceeds room capacity (%d/%d).",
-                        session.getSessionId(),
-                        assignedCount,
-                        room.getCapacity()
-                ));
+            Violation violation = check(session);
+            if (violation != null) {
+                violations.add(violation);
             }
         }
 
         return violations;
     }
+
+    private static Violation check(ExamSession session) {
+        Room room = session.getRoom();
+        int assignedCount = session.getAssignedStudents().size();
+        String sessionId = session.getSessionId();
+        if (room == null) {
+            return new Violation(Violation.Type.NO_ROOM, Violation.Severity.HARD, null, Violation.examIdsOf(session),
+                    Violation.sessionIdsOf(session), null, null, assignedCount, 0,
+                    () -> String.format(
+                            "ROOM CAPACITY VIOLATION: Session %s has no room assigned.",
+                            sessionId
+                    ));
+        }
+        int capacity = room.getCapacity();
+        if (assignedCount > capacity) {
+            return new Violation(Violation.Type.ROOM_CAPACITY, Violation.Severity.HARD, null,
+                    Violation.examIdsOf(session), Violation.sessionIdsOf(session), room.getRoomId(), null,
+                    assignedCount, capacity,
+                    () -> String.format(
+                            "ROOM CAPACITY VIOLATION: Session %s exceeds room capacity (%d/%d).",
+                            sessionId,
+                            assignedCount,
+                            capacity
+                    ));
+        }
+        return null;
+    }
+
+    @Override
+    public Tracker track(Schedule schedule) {
+        CapacityTracker tracker = new CapacityTracker();
+        if (schedule != null) {
+            for (ExamSession session : schedule.getExamSessions()) {
+                tracker.sessionAdded(session);
+            }
+        }
+        return tracker;
+    }
+
+    private static class CapacityTracker implements Tracker {
+        private final Map<ExamSession, Violation> violationsBySession = new LinkedHashMap<>();
+
+        @Override
+        public void sessionAdded(ExamSession session) {
+            Violation violation = check(session);
+            if (violation != null) {
+                violationsBySession.put(session, violation);
+            }
+        }
+
+        @Override
+        public void sessionRemoved(ExamSession session) {
+            violationsBySession.remove(session);
+        }
+
+        @Override
+        public void sessionMoved(ExamSession session) {
+            sessionRemoved(session);
+            sessionAdded(session);
+        }
+
+        @Override
+        public List<Violation> getViolations() {
+            return new ArrayList<>(violationsBySession.values());
+        }
+    }
 }
@@ -0,0 +1,130 @@
+package com.examscheduler.constraint;
+
+import com.examscheduler.entity.ExamSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+/**
+ * Incremental store of conflicting session pairs that share a key (a student or a room).
+ * Sessions are filed under their keys; adding one compares it only with the sessions
+ * already filed under the same keys, and removing one drops just its own pairs.
+ *
+ * Each pair lists the session added first first, and a moved session keeps its place, so
+ * pairs come out in the order a full check over the schedule's session list gives them.
+ */
+final class SessionPairIndex<K> {
+    private final BiPredicate<ExamSession, ExamSession> conflicting;
+    private final Map<K, List<ExamSession>> sessionsByKey = new HashMap<>();
+    private final Map<ExamSession, List<K>> keysBySession = new HashMap<>();
+    private final Map<ExamSession, Set<Pair<K>>> pairsBySession = new HashMap<>();
+    private final Set<Pair<K>> pairs = new LinkedHashSet<>();
+    private final Map<ExamSession, Long> addedOrder = new HashMap<>();
+    private long nextOrder;
+
+    SessionPairIndex(BiPredicate<ExamSession, ExamSession> conflicting) {
+        this.conflicting = conflicting;
+    }
+
+    void clear() {
+        sessionsByKey.clear();
+        keysBySession.clear();
+        pairsBySession.clear();
+        pairs.clear();
+        addedOrder.clear();
+    }
+
+    void add(ExamSession session, List<K> keys) {
+        long order = addedOrder.computeIfAbsent(session, s -> nextOrder++);
+        keysBySession.put(session, keys);
+        for (K key : keys) {
+            List<ExamSession> filed = sessionsByKey.computeIfAbsent(key, k -> new ArrayList<>());
+            for (ExamSession other : filed) {
+                if (conflicting.test(other, session)) {
+                    Pair<K> pair = addedOrder.get(other) < order
+                            ? new Pair<>(key, other, session)
+                            : new Pair<>(key, session, other);
+                    pairs.add(pair);
+                    pairsBySession.computeIfAbsent(other, s -> new LinkedHashSet<>()).add(pair);
+                    pairsBySession.computeIfAbsent(session, s -> new LinkedHashSet<>()).add(pair);
+                }
+            }
+            filed.add(session);
+        }
+    }
+
+    void remove(ExamSession session) {
+        drop(session);
+        addedOrder.remove(session);
+    }
+
+    /**
+     * Files the session again under new keys after its slot or room changed.
+     */
+    void move(ExamSession session, List<K> keys) {
+        drop(session);
+        add(session, keys);
+    }
+
+    private void drop(ExamSession session) {
+        Set<Pair<K>> own = pairsBySession.remove(session);
+        if (own != null) {
+            for (Pair<K> pair : own) {
+                pairs.remove(pair);
+                ExamSession other = pair.first == session ? pair.second : pair.first;
+                Set<Pair<K>> otherPairs = pairsBySession.get(other);
+                if (otherPairs != null) {
+                    otherPairs.remove(pair);
+                }
+            }
+        }
+        List<K> keys = keysBySession.remove(session);
+        if (keys != null) {
+            for (K key : keys) {
+                List<ExamSession> filed = sessionsByKey.get(key);
+                filed.remove(session);
+                if (filed.isEmpty()) {
+                    sessionsByKey.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Current conflicting pairs, in the order they appeared.
+     */
+    Set<Pair<K>> getPairs() {
+        return pairs;
+    }
+
+    static final class Pair<K> {
+        final K key;
+        final ExamSession first;
+        final ExamSession second;
+
+        Pair(K key, ExamSession first, ExamSession second) {
+            this.key = key;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Pair)) return false;
+            Pair<?> pair = (Pair<?>) o;
+            return Objects.equals(key, pair.key) && first == pair.first && second == pair.second;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, System.identityHashCode(first), System.identityHashCode(second));
+        }
+    }
+}
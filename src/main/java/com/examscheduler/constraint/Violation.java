@@ -0,0 +1,127 @@
+package com.examscheduler.constraint;
+
+import com.examscheduler.entity.ExamSession;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * One broken rule found by a {@link Constraint}, with the ids and figures involved so that
+ * callers can count, filter and sort violations without reading their text. The message
+ * is only formatted when {@link #getMessage()} is called.
+ *
+ * @param studentId  student involved, or null
+ * @param examIds    exams involved, in the order of {@code sessionIds}
+ * @param sessionIds sessions involved
+ * @param roomId     room involved, or null
+ * @param date       exam day involved, or null
+ * @param value      measured figure: overlapping or gap minutes, exams on the day or
+ *                   students seated, depending on the type
+ * @param limit      the figure the rule allows (0 when there is none)
+ */
+public record Violation(Type type, Severity severity, String studentId, List<String> examIds,
+                        List<String> sessionIds, String roomId, LocalDate date, long value, long limit,
+                        Supplier<String> messageFormatter) {
+
+    public enum Type {
+        STUDENT_OVERLAP("Overlapping exams"),
+        ROOM_OVERLAP("Room double-booked"),
+        MAX_EXAMS_PER_DAY("Too many exams per day"),
+        CONSECUTIVE_EXAMS("Back-to-back exams"),
+        ROOM_CAPACITY("Room over capacity"),
+        NO_ROOM("No room assigned"),
+        OTHER("Other");
+
+        private final String displayName;
+
+        Type(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    /**
+     * HARD violations make a schedule unusable; SOFT ones make it worse for students.
+     */
+    public enum Severity {
+        HARD,
+        SOFT
+    }
+
+    public Violation {
+        examIds = examIds != null ? Collections.unmodifiableList(new ArrayList<>(examIds)) : List.of();
+        sessionIds = sessionIds != null ? Collections.unmodifiableList(new ArrayList<>(sessionIds)) : List.of();
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(severity, "severity");
+        Objects.requireNonNull(messageFormatter, "messageFormatter");
+    }
+
+    /**
+     * Violation reported by a constraint that only produces message text.
+     */
+    public static Violation of(String message) {
+        return new Violation(Type.OTHER, Severity.HARD, null, null, null, null, null, 0, 0, () -> message);
+    }
+
+    static List<String> examIdsOf(ExamSession... sessions) {
+        List<String> ids = new ArrayList<>(sessions.length);
+        for (ExamSession session : sessions) {
+            ids.add(session.getExam() != null ? session.getExam().getExamId() : null);
+        }
+        return ids;
+    }
+
+    static List<String> sessionIdsOf(ExamSession... sessions) {
+        List<String> ids = new ArrayList<>(sessions.length);
+        for (ExamSession session : sessions) {
+            ids.add(session.getSessionId());
+        }
+        return ids;
+    }
+
+    public static List<String> messages(List<Violation> violations) {
+        List<String> messages = new ArrayList<>(violations.size());
+        for (Violation violation : violations) {
+            messages.add(violation.getMessage());
+        }
+        return messages;
+    }
+
+    public String getMessage() {
+        return messageFormatter.get();
+    }
+
+    // The formatter is left out: two reports of the same problem are equal.
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Violation)) return false;
+        Violation that = (Violation) o;
+        return value == that.value && limit == that.limit && type == that.type && severity == that.severity
+                && Objects.equals(studentId, that.studentId) && examIds.equals(that.examIds)
+                && sessionIds.equals(that.sessionIds) && Objects.equals(roomId, that.roomId)
+                && Objects.equals(date, that.date);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, severity, studentId, examIds, sessionIds, roomId, date, value, limit);
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
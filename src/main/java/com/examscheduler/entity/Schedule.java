@@ -1,11 +1,14 @@
 package com.examscheduler.entity;
 
 import com.examscheduler.constraint.Constraint;
+import com.examscheduler.constraint.Violation;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class Schedule {
@@ -17,13 +20,15 @@ public class Schedule {
     private List<Constraint> constraints;
     private List<String> schedulingNotes;
     private boolean isValid;
-    private List<String> validationMessages;
+    private List<Violation> violations;
+    private boolean incrementalValidation;
+    private Map<Constraint, Constraint.Tracker> trackers = new LinkedHashMap<>();
 
     public Schedule() {
         this.examSessions = new ArrayList<>();
         this.constraints = new ArrayList<>();
         this.schedulingNotes = new ArrayList<>();
-        this.validationMessages = new ArrayList<>();
+        this.violations = new ArrayList<>();
         this.isValid = false;
     }
 
@@ -35,7 +40,7 @@ public class Schedule {
         this.examSessions = new ArrayList<>();
         this.constraints = new ArrayList<>();
         this.schedulingNotes = new ArrayList<>();
-        this.validationMessages = new ArrayList<>();
+        this.violations = new ArrayList<>();
         this.isValid = false;
     }
 
@@ -49,36 +54,118 @@ public class Schedule {
         }
     }
 
+    /**
+     * Checks every constraint and returns the violation messages. Prefer
+     * {@link #checkViolations()} when the text is not needed for every violation.
+     */
     public List<String> validate() {
-        validationMessages.clear();
+        return Violation.messages(checkViolations());
+    }
+
+    /**
+     * Checks every constraint from scratch; messages are only formatted on request.
+     */
+    public List<Violation> checkViolations() {
+        violations.clear();
 
         for (Constraint constraint : constraints) {
-            List<String> violations = constraint.validate(this);
-            validationMessages.addAll(violations);
+            violations.addAll(constraint.check(this));
         }
 
-        isValid = validationMessages.isEmpty();
-        return new ArrayList<>(validationMessages);
+        isValid = violations.isEmpty();
+        return new ArrayList<>(violations);
+    }
+
+    /**
+     * Has the constraints track this schedule from now on: every session added, removed or
+     * moved through this class is reported to a {@link Constraint.Tracker} per constraint,
+     * kept by this schedule, and {@link #getCurrentViolations()} returns their cached
+     * violations instead of validating from scratch. The constraints themselves keep no
+     * state, so they may be shared with other schedules.
+     */
+    public void startIncrementalValidation() {
+        incrementalValidation = true;
+        resetConstraints();
+    }
+
+    public void stopIncrementalValidation() {
+        incrementalValidation = false;
+        trackers.clear();
+    }
+
+    public boolean isIncrementalValidation() {
+        return incrementalValidation;
+    }
+
+    /**
+     * Same result as {@link #checkViolations()}, from the constraints' cached violations
+     * when incremental validation is on.
+     */
+    public List<Violation> getCurrentViolations() {
+        if (!incrementalValidation) {
+            return checkViolations();
+        }
+        violations.clear();
+        for (Constraint constraint : constraints) {
+            violations.addAll(trackers.get(constraint).getViolations());
+        }
+        isValid = violations.isEmpty();
+        return new ArrayList<>(violations);
+    }
+
+    private void resetConstraints() {
+        trackers.clear();
+        if (incrementalValidation) {
+            for (Constraint constraint : constraints) {
+                trackers.put(constraint, constraint.track(this));
+            }
+        }
     }
 
     public void addExamSession(ExamSession session) {
         if (session != null && !examSessions.contains(session)) {
             examSessions.add(session);
+            for (Constraint.Tracker tracker : trackers.values()) {
+                tracker.sessionAdded(session);
+            }
         }
     }
 
     public void removeExamSession(ExamSession session) {
-        examSessions.remove(session);
+        if (examSessions.remove(session)) {
+            for (Constraint.Tracker tracker : trackers.values()) {
+                tracker.sessionRemoved(session);
+            }
+        }
+    }
+
+    /**
+     * Moves a session of this schedule to another time slot and room and reports the move
+     * to the constraints.
+     */
+    public void moveExamSession(ExamSession session, TimeSlot timeSlot, Room room) {
+        if (session == null || !examSessions.contains(session)) {
+            return;
+        }
+        session.setTimeSlot(timeSlot);
+        session.setRoom(room);
+        for (Constraint.Tracker tracker : trackers.values()) {
+            tracker.sessionMoved(session);
+        }
     }
 
     public void addConstraint(Constraint constraint) {
         if (constraint != null && !constraints.contains(constraint)) {
             constraints.add(constraint);
+            if (incrementalValidation) {
+                trackers.put(constraint, constraint.track(this));
+            }
         }
     }
 
     public void removeConstraint(Constraint constraint) {
         constraints.remove(constraint);
+        trackers.remove(constraint);
     }
 
     public Set<Student> getAllStudents() {
@@ -158,6 +245,7 @@ public class Schedule {
 
     public void setExamSessions(List<ExamSession> examSessions) {
         this.examSessions = examSessions != null ? new ArrayList<>(examSessions) : new ArrayList<>();
+        resetConstraints();
     }
 
     public List<Constraint> getConstraints() {
@@ -166,6 +254,7 @@ public class Schedule {
 
     public void setConstraints(List<Constraint> constraints) {
         this.constraints = constraints != null ? new ArrayList<>(constraints) : new ArrayList<>();
+        resetConstraints();
     }
 
     public boolean isValid() {
@@ -173,7 +262,14 @@ public class Schedule {
     }
 
     public List<String> getValidationMessages() {
-        return new ArrayList<>(validationMessages);
+        return Violation.messages(violations);
+    }
+
+    /**
+     * Violations found by the last validation.
+     */
+    public List<Violation> getViolations() {
+        return new ArrayList<>(violations);
     }
 
     @Override
@@ -0,0 +1,373 @@
+package com.examscheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Exact depth-first branch and bound over the slots of one group of exams, minimising
+ * the same cost as {@link SimulatedAnnealing}: unscheduled exams, then back-to-back
+ * exam pairs. Student overlaps, the exams-per-day limit and room capacity are hard, as
+ * in {@link SlotEvaluator#evaluate}; custom constraints are not searched over.
+ *
+ * <ul>
+ *   <li>The exam with the fewest conflict-free slots is branched on next; its slots are
+ *       tried in order of the back-to-back pairs they add, leaving it unscheduled last.</li>
+ *   <li>The lower bound partitions the exams into cliques of the conflict graph: the
+ *       undecided members of a clique need pairwise different slots, so those beyond the
+ *       conflict-free slots left to them will stay unscheduled.</li>
+ *   <li>Slots with the same date and times (or without a date) are interchangeable while
+ *       nothing overlaps them, so only the first such empty slot is tried.</li>
+ * </ul>
+ *
+ * Rooms are not branched on: each placement takes the smallest free room that fits (or
+ * the tightest split). The search starts from the assignment already in the state as
+ * incumbent and always leaves the best assignment found in the state, also when the
+ * node or time limit stops it early.
+ */
+final class BranchAndBound {
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    private final SchedulingState state;
+    private final int maxExamsPerDay;
+    private final long nodeLimit;
+    private final long deadlineNanos;
+    private final CancellationToken cancellationToken;
+
+    private final int[] exams;
+    private final int[] localOf;
+    private final int slotCount;
+    private final int[] conflictCounts;
+    private final BitSet[] freeSlots;
+    private final boolean[] decided;
+    private final int[][] cliques;
+    private final int[] slotClasses;
+    private final BitSet union;
+    private final long unscheduledExamWeight;
+
+    private final int[] bestSlots;
+    private final int[][] bestRooms;
+    private long bestCost;
+    private long nodes;
+    private boolean stopped;
+    private int undecided;
+    private int unscheduled;
+    private long pairs;
+
+    BranchAndBound(SchedulingState state, int[] exams, int maxExamsPerDay, long nodeLimit, long deadlineNanos,
+                   CancellationToken cancellationToken) {
+        this.state = state;
+        this.maxExamsPerDay = maxExamsPerDay;
+        this.nodeLimit = nodeLimit;
+        this.deadlineNanos = deadlineNanos;
+        this.cancellationToken = cancellationToken;
+
+        int count = 0;
+        int[] members = new int[exams.length];
+        for (int exam : exams) {
+            if (state.getStudentCount(exam) > 0) {
+                members[count++] = exam;
+            }
+        }
+        this.exams = Arrays.copyOf(members, count);
+        this.localOf = new int[state.getExamCount()];
+        Arrays.fill(localOf, -1);
+        for (int i = 0; i < this.exams.length; i++) {
+            localOf[this.exams[i]] = i;
+        }
+        this.slotCount = state.getSlotIndex().size();
+        this.conflictCounts = new int[this.exams.length * slotCount];
+        this.freeSlots = new BitSet[this.exams.length];
+        this.decided = new boolean[this.exams.length];
+        this.cliques = coverWithCliques();
+        this.slotClasses = classifySlots();
+        this.union = new BitSet(slotCount);
+        this.unscheduledExamWeight = SimulatedAnnealing.unscheduledExamWeight(state);
+        this.bestSlots = new int[this.exams.length];
+        this.bestRooms = new int[this.exams.length][];
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    long getBestCost() {
+        return bestCost;
+    }
+
+    /**
+     * Runs the search and leaves the best assignment in the state. Returns true when the
+     * search space was exhausted, i.e. the assignment is optimal.
+     */
+    boolean run() {
+        bestCost = currentCost();
+        for (int i = 0; i < exams.length; i++) {
+            bestSlots[i] = state.getExamSlot(exams[i]);
+            bestRooms[i] = state.getExamRooms(exams[i]).clone();
+        }
+        for (int exam : exams) {
+            state.unplace(exam);
+        }
+        for (int i = 0; i < exams.length; i++) {
+            freeSlots[i] = new BitSet(slotCount);
+            freeSlots[i].set(0, slotCount);
+        }
+        undecided = exams.length;
+
+        search();
+
+        for (int exam : exams) {
+            state.unplace(exam);
+        }
+        for (int i = 0; i < exams.length; i++) {
+            if (bestSlots[i] >= 0) {
+                state.place(exams[i], bestSlots[i], bestRooms[i]);
+            }
+        }
+        return !stopped;
+    }
+
+    private void search() {
+        if (stopped || shouldStop()) {
+            stopped = true;
+            return;
+        }
+        long cost = unscheduled * unscheduledExamWeight + pairs * SimulatedAnnealing.VIOLATION_WEIGHT;
+        if (undecided == 0) {
+            if (cost < bestCost) {
+                bestCost = cost;
+                for (int i = 0; i < exams.length; i++) {
+                    bestSlots[i] = state.getExamSlot(exams[i]);
+                    bestRooms[i] = state.getExamRooms(exams[i]).clone();
+                }
+            }
+            return;
+        }
+        if (cost + cliqueExcess() * unscheduledExamWeight >= bestCost) {
+            return;
+        }
+
+        int local = selectExam();
+        int exam = exams[local];
+        int studentCount = state.getStudentCount(exam);
+        decided[local] = true;
+        undecided--;
+
+        int[] candidates = new int[freeSlots[local].cardinality()];
+        long[] addedPairs = new long[slotCount];
+        int candidateCount = 0;
+        BitSet triedClasses = new BitSet(slotCount);
+        long totalCapacity = state.getRoomOccupancy().getTotalCapacity();
+        for (int slot = freeSlots[local].nextSetBit(0); slot >= 0; slot = freeSlots[local].nextSetBit(slot + 1)) {
+            if (state.getRoomOccupancy().getFreeCapacity(slot) == totalCapacity) {
+                if (triedClasses.get(slotClasses[slot])) {
+                    continue;
+                }
+                triedClasses.set(slotClasses[slot]);
+            }
+            if (SlotEvaluator.evaluate(state, exam, slot, studentCount, maxExamsPerDay) == SlotVerdict.FEASIBLE) {
+                addedPairs[slot] = consecutivePairsAdded(exam, slot);
+                candidates[candidateCount++] = slot;
+            }
+        }
+        Integer[] order = new Integer[candidateCount];
+        for (int i = 0; i < candidateCount; i++) {
+            order[i] = candidates[i];
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingLong(slot -> addedPairs[slot]).thenComparingInt(slot -> slot));
+
+        for (int slot : order) {
+            int[] rooms = state.chooseRooms(slot, studentCount, null);
+            if (rooms == null) {
+                continue;
+            }
+            state.place(exam, slot, rooms);
+            pairs += addedPairs[slot];
+            blockNeighbours(exam, slot, 1);
+            search();
+            blockNeighbours(exam, slot, -1);
+            pairs -= addedPairs[slot];
+            state.unplace(exam);
+            if (stopped) {
+                break;
+            }
+        }
+
+        if (!stopped) {
+            unscheduled++;
+            search();
+            unscheduled--;
+        }
+        decided[local] = false;
+        undecided++;
+    }
+
+    private boolean shouldStop() {
+        if (++nodes > nodeLimit) {
+            return true;
+        }
+        if (nodes % TIME_CHECK_INTERVAL != 0) {
+            return false;
+        }
+        return System.nanoTime() >= deadlineNanos || (cancellationToken != null && cancellationToken.isCancelled());
+    }
+
+    /**
+     * Undecided exam with the fewest conflict-free slots, then the highest degree.
+     */
+    private int selectExam() {
+        ConflictGraph graph = state.getConflictGraph();
+        int best = -1;
+        for (int i = 0; i < exams.length; i++) {
+            if (decided[i]) {
+                continue;
+            }
+            if (best < 0 || freeSlots[i].cardinality() < freeSlots[best].cardinality()
+                    || (freeSlots[i].cardinality() == freeSlots[best].cardinality()
+                        && graph.getDegree(exams[i]) > graph.getDegree(exams[best]))) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private void blockNeighbours(int exam, int slot, int delta) {
+        ConflictGraph graph = state.getConflictGraph();
+        TimeSlotIndex slotIndex = state.getSlotIndex();
+        for (int k = 0; k < graph.getDegree(exam); k++) {
+            int neighbour = localOf[graph.getNeighbour(exam, k)];
+            if (neighbour < 0) {
+                continue;
+            }
+            for (int p = 0; p < slotIndex.getOverlapCount(slot); p++) {
+                int blocked = slotIndex.getOverlapping(slot, p);
+                int cell = neighbour * slotCount + blocked;
+                conflictCounts[cell] += delta;
+                freeSlots[neighbour].set(blocked, conflictCounts[cell] == 0);
+            }
+        }
+    }
+
+    /**
+     * Undecided exams that cannot all be scheduled: per clique, those beyond the number of
+     * slots still conflict-free for at least one undecided member.
+     */
+    private int cliqueExcess() {
+        int excess = 0;
+        for (int[] clique : cliques) {
+            int open = 0;
+            union.clear();
+            for (int local : clique) {
+                if (!decided[local]) {
+                    open++;
+                    union.or(freeSlots[local]);
+                }
+            }
+            if (open > 0) {
+                excess += Math.max(0, open - union.cardinality());
+            }
+        }
+        return excess;
+    }
+
+    private long consecutivePairsAdded(int exam, int slot) {
+        TimeSlotIndex slotIndex = state.getSlotIndex();
+        if (slotIndex.getConsecutiveCount(slot) == 0) {
+            return 0;
+        }
+        StudentOccupancy occupancy = state.getStudentOccupancy();
+        long added = 0;
+        for (int p = 0; p < state.getStudentCount(exam); p++) {
+            int student = state.getStudent(exam, p);
+            for (int c = 0; c < slotIndex.getConsecutiveCount(slot); c++) {
+                if (occupancy.isOccupied(student, slotIndex.getConsecutive(slot, c))) {
+                    added++;
+                }
+            }
+        }
+        return added;
+    }
+
+    private long currentCost() {
+        int unplaced = 0;
+        BitSet students = new BitSet(state.getProblem().getStudentCount());
+        for (int exam : exams) {
+            if (!state.isPlaced(exam)) {
+                unplaced++;
+            }
+            for (int p = 0; p < state.getStudentCount(exam); p++) {
+                students.set(state.getStudent(exam, p));
+            }
+        }
+        long consecutive = 0;
+        for (int student = students.nextSetBit(0); student >= 0; student = students.nextSetBit(student + 1)) {
+            consecutive += state.getStudentOccupancy().countConsecutivePairs(student);
+        }
+        return unplaced * unscheduledExamWeight + consecutive * SimulatedAnnealing.VIOLATION_WEIGHT;
+    }
+
+    /**
+     * Greedy partition of the exams into cliques, highest degree first.
+     */
+    private int[][] coverWithCliques() {
+        ConflictGraph graph = state.getConflictGraph();
+        Integer[] byDegree = new Integer[exams.length];
+        for (int i = 0; i < exams.length; i++) {
+            byDegree[i] = i;
+        }
+        Arrays.sort(byDegree, Comparator.comparingInt((Integer local) -> graph.getDegree(exams[local])).reversed());
+
+        boolean[] covered = new boolean[exams.length];
+        List<int[]> found = new ArrayList<>();
+        int[] members = new int[exams.length];
+        for (int start : byDegree) {
+            if (covered[start]) {
+                continue;
+            }
+            int size = 0;
+            members[size++] = start;
+            covered[start] = true;
+            for (int candidate : byDegree) {
+                if (covered[candidate]) {
+                    continue;
+                }
+                boolean adjacentToAll = true;
+                for (int i = 0; i < size && adjacentToAll; i++) {
+                    adjacentToAll = graph.areConflicting(exams[candidate], exams[members[i]]);
+                }
+                if (adjacentToAll) {
+                    members[size++] = candidate;
+                    covered[candidate] = true;
+                }
+            }
+            found.add(Arrays.copyOf(members, size));
+        }
+        return found.toArray(new int[0][]);
+    }
+
+    /**
+     * Class id per slot; slots share a class when they have the same start and end, or
+     * when both lack times and fall on the same day (or both have no date). Such slots
+     * overlap the same slots and are back to back with the same slots.
+     */
+    private int[] classifySlots() {
+        ProblemInstance problem = state.getProblem();
+        int[] classes = new int[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            classes[slot] = slot;
+            for (int earlier = 0; earlier < slot; earlier++) {
+                boolean same = problem.isSlotComplete(slot)
+                        ? problem.isSlotComplete(earlier) && problem.getSlotStart(slot) == problem.getSlotStart(earlier)
+                            && problem.getSlotEnd(slot) == problem.getSlotEnd(earlier)
+                        : !problem.isSlotComplete(earlier) && problem.getSlotDay(slot) == problem.getSlotDay(earlier);
+                if (same) {
+                    classes[slot] = classes[earlier];
+                    break;
+                }
+            }
+        }
+        return classes;
+    }
+}
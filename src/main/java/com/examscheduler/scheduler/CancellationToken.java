@@ -0,0 +1,18 @@
+package com.examscheduler.scheduler;
+
+/**
+ * Lets another thread (typically the UI) ask a running schedule generation to stop.
+ * The scheduler checks it between exams and regularly during the improvement phase,
+ * then returns the best schedule found so far.
+ */
+public class CancellationToken {
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,180 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.entity.Course;
+import com.examscheduler.entity.Exam;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Exam-by-exam conflict graph. Two exams are adjacent when at least one student is
+ * enrolled in both; the edge weight is the number of shared students.
+ *
+ * The graph is built once per scheduling run from the enrollments of a
+ * {@link ProblemInstance} (that is, from {@link Course#getEnrollments()}). Exams are
+ * addressed by their ordinal in the instance, which is their index in the exam list.
+ */
+public class ConflictGraph {
+    private static final int[] NO_NEIGHBOURS = new int[0];
+
+    private final ProblemInstance problem;
+    private final int[][] neighbours;
+    private final int[][] weights;
+
+    public ConflictGraph(List<Exam> exams) {
+        this(new ProblemInstance(exams, null, null));
+    }
+
+    public ConflictGraph(ProblemInstance problem) {
+        this.problem = problem;
+        int examCount = problem.getExamCount();
+        this.neighbours = new int[examCount][];
+        this.weights = new int[examCount][];
+
+        // Count shared students per neighbour through the student -> exams lists; the
+        // mark array tells which neighbours were already seen for the current exam.
+        int[] marks = new int[examCount];
+        Arrays.fill(marks, -1);
+        int[] shared = new int[examCount];
+        int[] found = new int[examCount];
+        for (int exam = 0; exam < examCount; exam++) {
+            int foundCount = 0;
+            for (int p = 0; p < problem.getEnrollmentCount(exam); p++) {
+                int student = problem.getExamStudent(exam, p);
+                for (int q = 0; q < problem.getStudentExamCount(student); q++) {
+                    int other = problem.getStudentExam(student, q);
+                    if (other == exam) {
+                        continue;
+                    }
+                    if (marks[other] != exam) {
+                        marks[other] = exam;
+                        shared[other] = 0;
+                        found[foundCount++] = other;
+                    }
+                    shared[other]++;
+                }
+            }
+            if (foundCount == 0) {
+                neighbours[exam] = NO_NEIGHBOURS;
+                weights[exam] = NO_NEIGHBOURS;
+                continue;
+            }
+            int[] ids = Arrays.copyOf(found, foundCount);
+            Arrays.sort(ids);
+            int[] counts = new int[foundCount];
+            for (int k = 0; k < foundCount; k++) {
+                counts[k] = shared[ids[k]];
+            }
+            neighbours[exam] = ids;
+            weights[exam] = counts;
+        }
+    }
+
+    public ProblemInstance getProblem() {
+        return problem;
+    }
+
+    public int size() {
+        return problem.getExamCount();
+    }
+
+    public int indexOf(Exam exam) {
+        return problem.indexOfExam(exam);
+    }
+
+    public Exam getExam(int index) {
+        return problem.getExam(index);
+    }
+
+    public List<Exam> getExams() {
+        return problem.getExams();
+    }
+
+    public int getEnrollment(int index) {
+        return problem.getEnrollmentCount(index);
+    }
+
+    public int getDegree(int index) {
+        return neighbours[index].length;
+    }
+
+    public int getNeighbour(int index, int position) {
+        return neighbours[index][position];
+    }
+
+    public int getNeighbourWeight(int index, int position) {
+        return weights[index][position];
+    }
+
+    /**
+     * Returns a copy of the sorted neighbour indices of the given exam.
+     */
+    public int[] getNeighbours(int index) {
+        return neighbours[index].clone();
+    }
+
+    /**
+     * Number of students shared by the two exams, or 0 when they do not conflict.
+     */
+    public int getWeight(int first, int second) {
+        int position = Arrays.binarySearch(neighbours[first], second);
+        return position >= 0 ? weights[first][position] : 0;
+    }
+
+    public boolean areConflicting(int first, int second) {
+        return Arrays.binarySearch(neighbours[first], second) >= 0;
+    }
+
+    /**
+     * Connected components of the graph: groups of exams that share no student with any
+     * exam outside the group. Each component lists its exams in ascending index order;
+     * components are returned largest first.
+     */
+    public int[][] getComponents() {
+        int[] component = new int[size()];
+        Arrays.fill(component, -1);
+        int[] queue = new int[size()];
+        List<int[]> components = new ArrayList<>();
+        for (int start = 0; start < size(); start++) {
+            if (component[start] >= 0) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            component[start] = components.size();
+            queue[tail++] = start;
+            while (head < tail) {
+                int exam = queue[head++];
+                for (int neighbour : neighbours[exam]) {
+                    if (component[neighbour] < 0) {
+                        component[neighbour] = components.size();
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+            int[] members = Arrays.copyOf(queue, tail);
+            Arrays.sort(members);
+            components.add(members);
+        }
+        components.sort(Comparator.comparingInt((int[] members) -> members.length).reversed());
+        return components.toArray(new int[0][]);
+    }
+
+    public int getEdgeCount() {
+        int total = 0;
+        for (int[] adjacent : neighbours) {
+            total += adjacent.length;
+        }
+        return total / 2;
+    }
+
+    @Override
+    public String toString() {
+        return "ConflictGraph{" +
+                "exams=" + size() +
+                ", edges=" + getEdgeCount() +
+                '}';
+    }
+}
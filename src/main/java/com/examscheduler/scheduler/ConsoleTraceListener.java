@@ -0,0 +1,33 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.entity.Exam;
+import com.examscheduler.entity.TimeSlot;
+
+import java.util.Map;
+
+/**
+ * Writes trace events to standard output in the scheduler's former debug format.
+ */
+public class ConsoleTraceListener implements SchedulerTraceListener {
+
+    @Override
+    public void onMessage(TraceLevel level, String message) {
+        System.out.println(message);
+    }
+
+    @Override
+    public void onSlotRejected(Exam exam, TimeSlot slot, SlotVerdict reason) {
+        System.out.println("    - " + slot + ": " + reason);
+    }
+
+    @Override
+    public void onExamPlaced(Exam exam, TimeSlot slot, int roomCount) {
+        System.out.println("  ✓ ASSIGNED to " + slot.getDate() + " " + slot.getStartTime() + " in " + roomCount + " room(s)");
+    }
+
+    @Override
+    public void onExamFailed(Exam exam, Map<SlotVerdict, Integer> reasons) {
+        System.out.println("  ✗ FAILED: Could not find a suitable time/room for exam " + exam.getExamId()
+                + ". Failures: " + reasons);
+    }
+}
@@ -0,0 +1,83 @@
+package com.examscheduler.scheduler;
+
+import java.util.TreeSet;
+
+/**
+ * Priority queue of unplaced exams for DSATUR ordering.
+ *
+ * The next exam is the one with the highest saturation degree, here the number of slots
+ * missing from its forward-checking domain (see {@link SlotDomains}): slots blocked by
+ * placed neighbours, by the exams-per-day limit or by full rooms. Ties are broken by
+ * conflict degree, then enrollment, then graph index. Only exams whose domain shrank
+ * are re-keyed.
+ */
+class DsaturQueue {
+    private final ConflictGraph conflictGraph;
+    private final SlotDomains domains;
+    private final int slotCount;
+    private final int[] saturation;
+    private final boolean[] queued;
+    private final TreeSet<Integer> queue;
+
+    /**
+     * Queue over the given exams only, or over every exam when {@code exams} is null.
+     */
+    DsaturQueue(ConflictGraph conflictGraph, SlotDomains domains, int slotCount, int[] exams) {
+        this.conflictGraph = conflictGraph;
+        this.domains = domains;
+        this.slotCount = slotCount;
+        this.saturation = new int[conflictGraph.size()];
+        this.queued = new boolean[conflictGraph.size()];
+        this.queue = new TreeSet<>(this::compare);
+        int count = exams != null ? exams.length : conflictGraph.size();
+        for (int i = 0; i < count; i++) {
+            int exam = exams != null ? exams[i] : i;
+            saturation[exam] = slotCount - domains.size(exam);
+            queued[exam] = true;
+            queue.add(exam);
+        }
+    }
+
+    private int compare(int first, int second) {
+        if (saturation[first] != saturation[second]) {
+            return Integer.compare(saturation[second], saturation[first]);
+        }
+        int degreeFirst = conflictGraph.getDegree(first);
+        int degreeSecond = conflictGraph.getDegree(second);
+        if (degreeFirst != degreeSecond) {
+            return Integer.compare(degreeSecond, degreeFirst);
+        }
+        int enrollmentFirst = conflictGraph.getEnrollment(first);
+        int enrollmentSecond = conflictGraph.getEnrollment(second);
+        if (enrollmentFirst != enrollmentSecond) {
+            return Integer.compare(enrollmentSecond, enrollmentFirst);
+        }
+        return Integer.compare(first, second);
+    }
+
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    int poll() {
+        int exam = queue.pollFirst();
+        queued[exam] = false;
+        return exam;
+    }
+
+    int getSaturation(int exam) {
+        return saturation[exam];
+    }
+
+    /**
+     * Re-keys a queued exam after its domain changed.
+     */
+    void update(int exam) {
+        if (!queued[exam]) {
+            return;
+        }
+        queue.remove(exam);
+        saturation[exam] = slotCount - domains.size(exam);
+        queue.add(exam);
+    }
+}
@@ -0,0 +1,215 @@
+package com.examscheduler.scheduler;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Bounded repair neighbourhood for placing one exam into an otherwise fixed assignment.
+ *
+ * When an exam has no feasible slot, each slot is tried with at most {@code maxMoves}
+ * exams taken out of the way, one at a time for whatever blocks the slot: a conflicting
+ * neighbour in an overlapping slot, a neighbour on the same day when a shared student is
+ * at the exams-per-day limit, or an exam holding rooms in the slot when the free rooms
+ * are too small. The displaced exams are then re-placed in their first feasible slot. A
+ * slot is only kept when every displaced exam finds a new home, so no previously
+ * scheduled exam is ever dropped by a repair.
+ */
+class ExamRepair {
+    private final SchedulingState state;
+    private final SlotEvaluator slotEvaluator;
+    private final int maxExamsPerDay;
+    private final Random random;
+    private final int maxMoves;
+    private final Set<Integer> movedExams = new LinkedHashSet<>();
+
+    ExamRepair(SchedulingState state, SlotEvaluator slotEvaluator, int maxExamsPerDay, Random random, int maxMoves) {
+        this.state = state;
+        this.slotEvaluator = slotEvaluator;
+        this.maxExamsPerDay = maxExamsPerDay;
+        this.random = random;
+        this.maxMoves = maxMoves;
+    }
+
+    /**
+     * Exams other than the repaired ones whose slot or rooms were changed by a repair.
+     */
+    Set<Integer> getMovedExams() {
+        return new LinkedHashSet<>(movedExams);
+    }
+
+    /**
+     * Places the (unplaced) exam by moving up to {@code maxMoves} neighbours. Returns false
+     * and leaves the state unchanged when no slot works.
+     */
+    boolean repair(int exam) {
+        TimeSlotIndex slotIndex = state.getSlotIndex();
+        int studentCount = state.getStudentCount(exam);
+        int[] blockers = new int[Math.max(0, maxMoves)];
+        int[] blockerSlots = new int[blockers.length];
+        int[][] blockerRooms = new int[blockers.length][];
+
+        for (int slot = 0; slot < slotIndex.size(); slot++) {
+            int blockerCount = 0;
+            boolean placed = false;
+            while (true) {
+                SlotVerdict verdict = SlotEvaluator.evaluate(state, exam, slot, studentCount, maxExamsPerDay);
+                if (verdict == SlotVerdict.FEASIBLE) {
+                    int[] rooms = state.chooseRooms(slot, studentCount, random);
+                    if (rooms != null) {
+                        state.place(exam, slot, rooms);
+                        placed = true;
+                        break;
+                    }
+                    verdict = SlotVerdict.INSUFFICIENT_CAPACITY;
+                }
+                int blocker = blockerCount < maxMoves ? findBlocker(exam, slot, verdict) : -1;
+                if (blocker < 0) {
+                    break;
+                }
+                blockers[blockerCount] = blocker;
+                blockerSlots[blockerCount] = state.getExamSlot(blocker);
+                blockerRooms[blockerCount] = state.getExamRooms(blocker);
+                state.unplace(blocker);
+                blockerCount++;
+            }
+            if (placed && replaceBlockers(blockers, blockerCount)) {
+                for (int i = 0; i < blockerCount; i++) {
+                    movedExams.add(blockers[i]);
+                }
+                return true;
+            }
+
+            state.unplace(exam);
+            for (int i = 0; i < blockerCount; i++) {
+                state.unplace(blockers[i]);
+            }
+            for (int i = 0; i < blockerCount; i++) {
+                state.place(blockers[i], blockerSlots[i], blockerRooms[i]);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A placed exam whose removal clears the given reason for rejecting the slot, or at
+     * least brings it closer to clearing, or -1 when there is none.
+     */
+    private int findBlocker(int exam, int slot, SlotVerdict verdict) {
+        switch (verdict) {
+            case STUDENT_CONFLICT:
+                return findConflictingNeighbour(exam, slot);
+            case MAX_EXAMS_PER_DAY:
+                return findSameDayNeighbour(exam, slot);
+            case INSUFFICIENT_CAPACITY:
+                return findRoomHolder(exam, slot);
+            default:
+                return -1;
+        }
+    }
+
+    private int findConflictingNeighbour(int exam, int slot) {
+        ConflictGraph graph = state.getConflictGraph();
+        for (int k = 0; k < graph.getDegree(exam); k++) {
+            int neighbour = graph.getNeighbour(exam, k);
+            int neighbourSlot = state.getExamSlot(neighbour);
+            if (neighbourSlot >= 0 && state.getSlotIndex().overlaps(neighbourSlot, slot)) {
+                return neighbour;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The neighbour on the slot's day shared with the most of the exam's students who are
+     * at the daily limit there.
+     */
+    private int findSameDayNeighbour(int exam, int slot) {
+        ConflictGraph graph = state.getConflictGraph();
+        StudentOccupancy occupancy = state.getStudentOccupancy();
+        TimeSlotIndex slotIndex = state.getSlotIndex();
+        int day = slotIndex.getDay(slot);
+        Set<Integer> atLimit = new HashSet<>();
+        for (int p = 0; p < state.getStudentCount(exam); p++) {
+            int student = state.getStudent(exam, p);
+            if (occupancy.getDailyCount(student, day) >= maxExamsPerDay) {
+                atLimit.add(student);
+            }
+        }
+        int best = -1;
+        int bestShared = 0;
+        for (int k = 0; k < graph.getDegree(exam); k++) {
+            int neighbour = graph.getNeighbour(exam, k);
+            int neighbourSlot = state.getExamSlot(neighbour);
+            if (neighbourSlot < 0 || slotIndex.getDay(neighbourSlot) != day) {
+                continue;
+            }
+            int shared = 0;
+            for (int p = 0; p < state.getStudentCount(neighbour); p++) {
+                if (atLimit.contains(state.getStudent(neighbour, p))) {
+                    shared++;
+                }
+            }
+            if (shared > bestShared) {
+                best = neighbour;
+                bestShared = shared;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Among the exams holding rooms in slots overlapping this one, the smallest that frees
+     * enough seats on its own, else the one holding the most seats.
+     */
+    private int findRoomHolder(int exam, int slot) {
+        RoomOccupancy rooms = state.getRoomOccupancy();
+        long missing = state.getStudentCount(exam) - rooms.getFreeCapacity(slot);
+        int best = -1;
+        long bestSeats = 0;
+        boolean bestFrees = false;
+        for (int other = 0; other < state.getExamCount(); other++) {
+            int otherSlot = state.getExamSlot(other);
+            if (other == exam || otherSlot < 0 || !state.getSlotIndex().overlaps(otherSlot, slot)) {
+                continue;
+            }
+            long seats = 0;
+            for (int room : state.getExamRooms(other)) {
+                seats += rooms.getCapacity(room);
+            }
+            boolean frees = seats >= missing;
+            if (best < 0 || (frees && (!bestFrees || seats < bestSeats)) || (!frees && !bestFrees && seats > bestSeats)) {
+                best = other;
+                bestSeats = seats;
+                bestFrees = frees;
+            }
+        }
+        return best;
+    }
+
+    private boolean replaceBlockers(int[] blockers, int blockerCount) {
+        for (int i = 0; i < blockerCount; i++) {
+            int studentCount = state.getStudentCount(blockers[i]);
+            int slot = slotEvaluator.findFirstFeasibleSlot(state, blockers[i], studentCount, maxExamsPerDay,
+                    new EnumMap<>(SlotVerdict.class), null);
+            if (slot < 0 || !placeAt(blockers[i], slot, studentCount)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean placeAt(int exam, int slot, int studentCount) {
+        if (SlotEvaluator.evaluate(state, exam, slot, studentCount, maxExamsPerDay) != SlotVerdict.FEASIBLE) {
+            return false;
+        }
+        int[] rooms = state.chooseRooms(slot, studentCount, random);
+        if (rooms == null) {
+            return false;
+        }
+        state.place(exam, slot, rooms);
+        return true;
+    }
+}
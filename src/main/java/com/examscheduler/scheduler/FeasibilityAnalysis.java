@@ -0,0 +1,169 @@
+package com.examscheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cheap lower bounds checked before any search starts:
+ * <ul>
+ *   <li>clique bound: exams that pairwise share students need pairwise non-overlapping
+ *       slots, so a clique larger than the largest set of disjoint slots cannot fit;</li>
+ *   <li>student load: a student cannot sit more exams than there are disjoint slots per
+ *       day (capped by the exams-per-day limit) summed over the exam days;</li>
+ *   <li>capacity: one exam cannot need more seats than all rooms together, and all exams
+ *       cannot need more seats than the rooms offer over a set of disjoint slots.</li>
+ * </ul>
+ * Exams without students are ignored, as the scheduler skips them.
+ */
+final class FeasibilityAnalysis {
+    private static final int CLIQUE_SEEDS = 32;
+    private static final int LISTED_EXAMS = 5;
+
+    private FeasibilityAnalysis() {
+    }
+
+    static FeasibilityReport analyze(SchedulingState state, int maxExamsPerDay) {
+        ProblemInstance problem = state.getProblem();
+        ConflictGraph graph = state.getConflictGraph();
+        Map<FeasibilityReport.Bound, String> failed = new EnumMap<>(FeasibilityReport.Bound.class);
+
+        // Largest set of pairwise disjoint slots per day (interval scheduling by end time);
+        // slots without a date or times overlap nothing and always count.
+        int[] disjointPerDay = new int[problem.getDayCount()];
+        int undatedSlots = 0;
+        Integer[] byEnd = new Integer[problem.getSlotCount()];
+        for (int slot = 0; slot < byEnd.length; slot++) {
+            byEnd[slot] = slot;
+        }
+        Arrays.sort(byEnd, Comparator.comparingInt(problem::getSlotEnd));
+        int[] lastEnd = new int[problem.getDayCount()];
+        Arrays.fill(lastEnd, Integer.MIN_VALUE);
+        for (int slot : byEnd) {
+            int day = problem.getSlotDay(slot);
+            if (day < 0) {
+                undatedSlots++;
+            } else if (!problem.isSlotComplete(slot) || problem.getSlotStart(slot) >= problem.getSlotEnd(slot)) {
+                disjointPerDay[day]++;
+            } else if (problem.getSlotStart(slot) >= lastEnd[day]) {
+                disjointPerDay[day]++;
+                lastEnd[day] = problem.getSlotEnd(slot);
+            }
+        }
+        int disjointSlots = undatedSlots;
+        int studentSlotCapacity = undatedSlots;
+        for (int count : disjointPerDay) {
+            disjointSlots += count;
+            studentSlotCapacity += Math.min(Math.max(0, maxExamsPerDay), count);
+        }
+
+        int[] clique = findLargeClique(state);
+        if (clique.length > disjointSlots) {
+            failed.put(FeasibilityReport.Bound.CLIQUE, String.format("CLIQUE BOUND: %d exams pairwise share students (%s) but at most %d time slots "
+                    + "do not overlap each other", clique.length, describeExams(graph, clique), disjointSlots));
+        }
+
+        int largestLoad = 0;
+        int busiestStudent = -1;
+        for (int student = 0; student < problem.getStudentCount(); student++) {
+            if (problem.getStudentExamCount(student) > largestLoad) {
+                largestLoad = problem.getStudentExamCount(student);
+                busiestStudent = student;
+            }
+        }
+        if (largestLoad > studentSlotCapacity) {
+            failed.put(FeasibilityReport.Bound.STUDENT_LOAD, String.format("STUDENT LOAD BOUND: Student %s sits %d exams but at most %d fit "
+                    + "(max %d exams/day over %d day(s), %d undated slot(s))",
+                    problem.getStudent(busiestStudent).getStudentId(), largestLoad, studentSlotCapacity,
+                    maxExamsPerDay, problem.getDayCount(), undatedSlots));
+        }
+
+        long totalCapacity = 0;
+        for (int room = 0; room < problem.getRoomCount(); room++) {
+            totalCapacity += problem.getRoomCapacity(room);
+        }
+        long seatDemand = 0;
+        int largestExam = -1;
+        for (int exam = 0; exam < problem.getExamCount(); exam++) {
+            seatDemand += problem.getEnrollmentCount(exam);
+            if (largestExam < 0 || problem.getEnrollmentCount(exam) > problem.getEnrollmentCount(largestExam)) {
+                largestExam = exam;
+            }
+        }
+        if (largestExam >= 0 && problem.getEnrollmentCount(largestExam) > totalCapacity) {
+            failed.put(FeasibilityReport.Bound.ROOM_CAPACITY, String.format("ROOM CAPACITY BOUND: Exam %s has %d students but all rooms together seat %d",
+                    problem.getExam(largestExam).getExamId(), problem.getEnrollmentCount(largestExam), totalCapacity));
+        }
+        long seatSupply = totalCapacity * disjointSlots;
+        if (seatDemand > seatSupply) {
+            failed.put(FeasibilityReport.Bound.SEATS, String.format("SEAT BOUND: Exams need %d seats in total but %d room(s) seating %d "
+                    + "over %d non-overlapping slot(s) offer %d", seatDemand, problem.getRoomCount(), totalCapacity,
+                    disjointSlots, seatSupply));
+        }
+
+        return new FeasibilityReport(failed, clique.length, disjointSlots, largestLoad, studentSlotCapacity,
+                seatDemand, seatSupply);
+    }
+
+    /**
+     * Greedy clique search started from the highest-degree exams: each start grows by
+     * adding, in order of degree, every neighbour adjacent to all members so far.
+     */
+    private static int[] findLargeClique(SchedulingState state) {
+        ConflictGraph graph = state.getConflictGraph();
+        List<Integer> byDegree = new ArrayList<>();
+        for (int exam = 0; exam < graph.size(); exam++) {
+            if (state.getStudentCount(exam) > 0) {
+                byDegree.add(exam);
+            }
+        }
+        byDegree.sort(Comparator.comparingInt(graph::getDegree).reversed());
+
+        int[] best = new int[0];
+        int[] members = new int[graph.size()];
+        for (int seed = 0; seed < Math.min(CLIQUE_SEEDS, byDegree.size()); seed++) {
+            int start = byDegree.get(seed);
+            if (graph.getDegree(start) + 1 <= best.length) {
+                break;
+            }
+            Integer[] candidates = new Integer[graph.getDegree(start)];
+            for (int k = 0; k < candidates.length; k++) {
+                candidates[k] = graph.getNeighbour(start, k);
+            }
+            Arrays.sort(candidates, Comparator.comparingInt(graph::getDegree).reversed());
+
+            int size = 0;
+            members[size++] = start;
+            for (int candidate : candidates) {
+                boolean adjacentToAll = true;
+                for (int i = 1; i < size && adjacentToAll; i++) {
+                    adjacentToAll = graph.areConflicting(candidate, members[i]);
+                }
+                if (adjacentToAll) {
+                    members[size++] = candidate;
+                }
+            }
+            if (size > best.length) {
+                best = Arrays.copyOf(members, size);
+            }
+        }
+        return best;
+    }
+
+    private static String describeExams(ConflictGraph graph, int[] exams) {
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i < Math.min(LISTED_EXAMS, exams.length); i++) {
+            if (i > 0) {
+                ids.append(", ");
+            }
+            ids.append(graph.getExam(exams[i]).getExamId());
+        }
+        if (exams.length > LISTED_EXAMS) {
+            ids.append(", ...");
+        }
+        return ids.toString();
+    }
+}
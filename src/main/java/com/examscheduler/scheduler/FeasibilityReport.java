@@ -0,0 +1,112 @@
+package com.examscheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of the pre-solve lower-bound checks run by the {@link Scheduler}.
+ *
+ * Every failed bound is a proof that no schedule can place all exams with the given
+ * rooms, time slots and exams-per-day limit, whatever the search does.
+ */
+public class FeasibilityReport {
+    /**
+     * The lower bounds checked, in the order they are checked.
+     */
+    public enum Bound {
+        /** Pairwise-conflicting exams need more non-overlapping slots than there are. */
+        CLIQUE,
+        /** A student sits more exams than the slots and the exams-per-day limit allow. */
+        STUDENT_LOAD,
+        /** One exam has more students than all rooms together seat. */
+        ROOM_CAPACITY,
+        /** All exams need more seats than the rooms offer over non-overlapping slots. */
+        SEATS
+    }
+
+    private final Map<Bound, String> failedBounds;
+    private final int cliqueSize;
+    private final int disjointSlots;
+    private final int largestStudentLoad;
+    private final int studentSlotCapacity;
+    private final long seatDemand;
+    private final long seatSupply;
+
+    FeasibilityReport(Map<Bound, String> failedBounds, int cliqueSize, int disjointSlots, int largestStudentLoad,
+                      int studentSlotCapacity, long seatDemand, long seatSupply) {
+        this.failedBounds = new EnumMap<>(Bound.class);
+        this.failedBounds.putAll(failedBounds);
+        this.cliqueSize = cliqueSize;
+        this.disjointSlots = disjointSlots;
+        this.largestStudentLoad = largestStudentLoad;
+        this.studentSlotCapacity = studentSlotCapacity;
+        this.seatDemand = seatDemand;
+        this.seatSupply = seatSupply;
+    }
+
+    public boolean isProvablyInfeasible() {
+        return !failedBounds.isEmpty();
+    }
+
+    /**
+     * One message per bound that failed, naming the bound and the numbers behind it.
+     */
+    public List<String> getFailedBounds() {
+        return new ArrayList<>(failedBounds.values());
+    }
+
+    /**
+     * True when the given bound failed, telling which resource is short.
+     */
+    public boolean hasFailed(Bound bound) {
+        return failedBounds.containsKey(bound);
+    }
+
+    /**
+     * Size of the largest group of pairwise-conflicting exams found.
+     */
+    public int getCliqueSize() {
+        return cliqueSize;
+    }
+
+    /**
+     * Largest number of time slots that do not overlap each other.
+     */
+    public int getDisjointSlots() {
+        return disjointSlots;
+    }
+
+    public int getLargestStudentLoad() {
+        return largestStudentLoad;
+    }
+
+    /**
+     * Most exams a single student can sit under the exams-per-day limit.
+     */
+    public int getStudentSlotCapacity() {
+        return studentSlotCapacity;
+    }
+
+    public long getSeatDemand() {
+        return seatDemand;
+    }
+
+    /**
+     * Seats all rooms offer over a largest set of non-overlapping slots.
+     */
+    public long getSeatSupply() {
+        return seatSupply;
+    }
+
+    @Override
+    public String toString() {
+        return "FeasibilityReport{" +
+                "infeasible=" + isProvablyInfeasible() +
+                ", clique=" + cliqueSize + "/" + disjointSlots +
+                ", studentLoad=" + largestStudentLoad + "/" + studentSlotCapacity +
+                ", seats=" + seatDemand + "/" + seatSupply +
+                '}';
+    }
+}
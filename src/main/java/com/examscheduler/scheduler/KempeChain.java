@@ -0,0 +1,134 @@
+package com.examscheduler.scheduler;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Kempe-chain move operator over a {@link SchedulingState}.
+ *
+ * For an exam in slot {@code a} and a target slot {@code b}, the chain is the connected
+ * component containing the exam in the conflict subgraph induced by the exams placed
+ * in {@code a} or {@code b}. Swapping the two slots for every exam of the chain cannot
+ * create a clash between two exams of those slots, so student-overlap feasibility is
+ * kept even when a single-exam move is impossible. Exams-per-day, room capacity and
+ * slots that only partly overlap are re-checked when the chain is applied.
+ *
+ * Instances keep their buffers between calls and are meant to be reused by one search.
+ */
+class KempeChain {
+    private final SchedulingState state;
+    private final int[] marks;
+    private int mark;
+
+    private int[] chain = new int[16];
+    private int[] previousSlots = new int[16];
+    private int[][] previousRooms = new int[16][];
+    private int size;
+    private int firstSlot;
+    private int secondSlot;
+
+    KempeChain(SchedulingState state) {
+        this.state = state;
+        this.marks = new int[state.getExamCount()];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getExam(int position) {
+        return chain[position];
+    }
+
+    /**
+     * Discovers the chain of {@code exam} towards {@code targetSlot} with a breadth-first
+     * search over the conflict graph. Returns false when the exam is unplaced, the two
+     * slots overlap, or the chain would exceed {@code maxSize} exams.
+     */
+    boolean find(int exam, int targetSlot, int maxSize) {
+        size = 0;
+        firstSlot = state.getExamSlot(exam);
+        secondSlot = targetSlot;
+        TimeSlotIndex slotIndex = state.getSlotIndex();
+        if (firstSlot < 0 || targetSlot < 0 || targetSlot == firstSlot || slotIndex.overlaps(firstSlot, targetSlot)) {
+            return false;
+        }
+        if (++mark == Integer.MAX_VALUE) {
+            Arrays.fill(marks, 0);
+            mark = 1;
+        }
+
+        ConflictGraph graph = state.getConflictGraph();
+        marks[exam] = mark;
+        add(exam);
+        for (int head = 0; head < size; head++) {
+            int current = chain[head];
+            for (int k = 0; k < graph.getDegree(current); k++) {
+                int neighbour = graph.getNeighbour(current, k);
+                if (marks[neighbour] == mark) {
+                    continue;
+                }
+                int neighbourSlot = state.getExamSlot(neighbour);
+                if (neighbourSlot == firstSlot || neighbourSlot == secondSlot) {
+                    marks[neighbour] = mark;
+                    if (size == maxSize) {
+                        size = 0;
+                        return false;
+                    }
+                    add(neighbour);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void add(int exam) {
+        if (size == chain.length) {
+            chain = Arrays.copyOf(chain, size * 2);
+            previousSlots = Arrays.copyOf(previousSlots, size * 2);
+            previousRooms = Arrays.copyOf(previousRooms, size * 2);
+        }
+        chain[size] = exam;
+        previousSlots[size] = state.getExamSlot(exam);
+        previousRooms[size] = state.getExamRooms(exam);
+        size++;
+    }
+
+    /**
+     * Moves every exam of the last discovered chain to the other slot, choosing new rooms.
+     * When any exam cannot be placed the chain is put back and false is returned.
+     */
+    boolean apply(int maxExamsPerDay, Random random) {
+        for (int i = 0; i < size; i++) {
+            state.unplace(chain[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            int exam = chain[i];
+            int target = previousSlots[i] == firstSlot ? secondSlot : firstSlot;
+            int studentCount = state.getStudentCount(exam);
+            if (SlotEvaluator.evaluate(state, exam, target, studentCount, maxExamsPerDay) != SlotVerdict.FEASIBLE) {
+                undo();
+                return false;
+            }
+            int[] rooms = state.chooseRooms(target, studentCount, random);
+            if (rooms == null) {
+                undo();
+                return false;
+            }
+            state.place(exam, target, rooms);
+        }
+        return true;
+    }
+
+    /**
+     * Puts every exam of the last discovered chain back where it was found.
+     */
+    void undo() {
+        for (int i = 0; i < size; i++) {
+            state.unplace(chain[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            state.place(chain[i], previousSlots[i], previousRooms[i]);
+        }
+    }
+}
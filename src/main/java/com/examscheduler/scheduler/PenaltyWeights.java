@@ -0,0 +1,63 @@
+package com.examscheduler.scheduler;
+
+/**
+ * Weights of the soft-constraint terms of a {@link SchedulePenalty}. A weight of 0 turns
+ * the term off; negative weights are treated as 0.
+ */
+public class PenaltyWeights {
+    private double proximity;
+    private double sameDay;
+    private double roomFill;
+
+    public PenaltyWeights() {
+        this(1.0, 1.0, 1.0);
+    }
+
+    public PenaltyWeights(double proximity, double sameDay, double roomFill) {
+        setProximity(proximity);
+        setSameDay(sameDay);
+        setRoomFill(roomFill);
+    }
+
+    public double getProximity() {
+        return proximity;
+    }
+
+    /**
+     * Weight of the Carter proximity cost between a student's exams.
+     */
+    public void setProximity(double proximity) {
+        this.proximity = Math.max(0, proximity);
+    }
+
+    public double getSameDay() {
+        return sameDay;
+    }
+
+    /**
+     * Weight per pair of a student's exams on the same date.
+     */
+    public void setSameDay(double sameDay) {
+        this.sameDay = Math.max(0, sameDay);
+    }
+
+    public double getRoomFill() {
+        return roomFill;
+    }
+
+    /**
+     * Weight of the empty seat share summed over sessions.
+     */
+    public void setRoomFill(double roomFill) {
+        this.roomFill = Math.max(0, roomFill);
+    }
+
+    @Override
+    public String toString() {
+        return "PenaltyWeights{" +
+                "proximity=" + proximity +
+                ", sameDay=" + sameDay +
+                ", roomFill=" + roomFill +
+                '}';
+    }
+}
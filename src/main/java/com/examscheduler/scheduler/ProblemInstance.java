@@ -0,0 +1,301 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.entity.Course;
+import com.examscheduler.entity.Enrollment;
+import com.examscheduler.entity.Exam;
+import com.examscheduler.entity.Room;
+import com.examscheduler.entity.Student;
+import com.examscheduler.entity.TimeSlot;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compiled, integer-indexed form of a scheduling problem.
+ *
+ * Every exam, student, time slot and room gets a dense ordinal. Enrollments are stored
+ * in CSR form in both directions (exam to students and student to exams), slots as
+ * minute offsets from midnight of the first exam day, and room capacities as an
+ * {@code int[]}. The solver engines work on ordinals only; entities are looked up again
+ * when sessions are created at the end.
+ *
+ * Exams keep the order they were given in, duplicates included. Students are numbered
+ * in order of first enrollment, rooms by descending capacity and slots as given.
+ */
+public class ProblemInstance {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final List<Exam> exams;
+    private final Map<Exam, Integer> examOrdinals;
+    private final List<Student> students;
+    private final Map<Student, Integer> studentOrdinals;
+    private final List<TimeSlot> slots;
+    private final Map<TimeSlot, Integer> slotOrdinals;
+    private final List<Room> rooms;
+    private final Map<Room, Integer> roomOrdinals;
+
+    private final int[] examStudentOffsets;
+    private final int[] examStudents;
+    private final int[] studentExamOffsets;
+    private final int[] studentExams;
+
+    private final int[] slotStarts;
+    private final int[] slotEnds;
+    private final int[] slotDays;
+    private final List<LocalDate> days;
+
+    private final int[] roomCapacities;
+
+    public ProblemInstance(List<Exam> exams, List<TimeSlot> timeSlots, List<Room> rooms) {
+        this.exams = exams != null ? new ArrayList<>(exams) : new ArrayList<>();
+        this.examOrdinals = new HashMap<>();
+        this.students = new ArrayList<>();
+        this.studentOrdinals = new HashMap<>();
+
+        // Exam -> students, deduplicated per exam and numbered on first sight.
+        this.examStudentOffsets = new int[this.exams.size() + 1];
+        List<int[]> enrolled = new ArrayList<>(this.exams.size());
+        int enrollmentCount = 0;
+        for (int exam = 0; exam < this.exams.size(); exam++) {
+            examOrdinals.putIfAbsent(this.exams.get(exam), exam);
+            Set<Student> examStudentSet = studentsOf(this.exams.get(exam));
+            int[] ids = new int[examStudentSet.size()];
+            int k = 0;
+            for (Student student : examStudentSet) {
+                Integer ordinal = studentOrdinals.get(student);
+                if (ordinal == null) {
+                    ordinal = students.size();
+                    studentOrdinals.put(student, ordinal);
+                    students.add(student);
+                }
+                ids[k++] = ordinal;
+            }
+            enrolled.add(ids);
+            enrollmentCount += ids.length;
+            examStudentOffsets[exam + 1] = enrollmentCount;
+        }
+        this.examStudents = new int[enrollmentCount];
+        for (int exam = 0; exam < this.exams.size(); exam++) {
+            int[] ids = enrolled.get(exam);
+            System.arraycopy(ids, 0, examStudents, examStudentOffsets[exam], ids.length);
+        }
+
+        // Student -> exams, by counting then filling; exams come out in ascending order.
+        this.studentExamOffsets = new int[students.size() + 1];
+        for (int student : examStudents) {
+            studentExamOffsets[student + 1]++;
+        }
+        for (int student = 0; student < students.size(); student++) {
+            studentExamOffsets[student + 1] += studentExamOffsets[student];
+        }
+        this.studentExams = new int[enrollmentCount];
+        int[] fill = new int[students.size()];
+        for (int exam = 0; exam < this.exams.size(); exam++) {
+            for (int p = examStudentOffsets[exam]; p < examStudentOffsets[exam + 1]; p++) {
+                int student = examStudents[p];
+                studentExams[studentExamOffsets[student] + fill[student]++] = exam;
+            }
+        }
+
+        this.slots = timeSlots != null ? new ArrayList<>(timeSlots) : new ArrayList<>();
+        this.slotOrdinals = new HashMap<>();
+        TreeSet<LocalDate> distinctDates = new TreeSet<>();
+        for (int slot = 0; slot < slots.size(); slot++) {
+            slotOrdinals.putIfAbsent(slots.get(slot), slot);
+            if (slots.get(slot) != null && slots.get(slot).getDate() != null) {
+                distinctDates.add(slots.get(slot).getDate());
+            }
+        }
+        this.days = new ArrayList<>(distinctDates);
+        Map<LocalDate, Integer> dayOrdinals = new HashMap<>();
+        for (int day = 0; day < days.size(); day++) {
+            dayOrdinals.put(days.get(day), day);
+        }
+        this.slotStarts = new int[slots.size()];
+        this.slotEnds = new int[slots.size()];
+        this.slotDays = new int[slots.size()];
+        for (int slot = 0; slot < slots.size(); slot++) {
+            TimeSlot timeSlot = slots.get(slot);
+            slotDays[slot] = timeSlot != null && timeSlot.getDate() != null ? dayOrdinals.get(timeSlot.getDate()) : -1;
+            if (slotDays[slot] >= 0 && timeSlot.getStartTime() != null && timeSlot.getEndTime() != null) {
+                int dayStart = (int) (timeSlot.getDate().toEpochDay() - days.get(0).toEpochDay()) * MINUTES_PER_DAY;
+                slotStarts[slot] = dayStart + timeSlot.getStartTime().toSecondOfDay() / 60;
+                slotEnds[slot] = dayStart + timeSlot.getEndTime().toSecondOfDay() / 60;
+            } else {
+                slotStarts[slot] = -1;
+                slotEnds[slot] = -1;
+            }
+        }
+
+        Set<Room> distinctRooms = new LinkedHashSet<>();
+        if (rooms != null) {
+            for (Room room : rooms) {
+                if (room != null) {
+                    distinctRooms.add(room);
+                }
+            }
+        }
+        this.rooms = new ArrayList<>(distinctRooms);
+        this.rooms.sort(Comparator.comparingInt(Room::getCapacity).reversed());
+        this.roomOrdinals = new HashMap<>();
+        this.roomCapacities = new int[this.rooms.size()];
+        for (int room = 0; room < this.rooms.size(); room++) {
+            roomOrdinals.put(this.rooms.get(room), room);
+            roomCapacities[room] = this.rooms.get(room).getCapacity();
+        }
+    }
+
+    private static Set<Student> studentsOf(Exam exam) {
+        Set<Student> students = new LinkedHashSet<>();
+        Course course = exam != null ? exam.getCourse() : null;
+        if (course == null) {
+            return students;
+        }
+        for (Enrollment enrollment : course.getEnrollments()) {
+            if (enrollment != null && enrollment.getStudent() != null) {
+                students.add(enrollment.getStudent());
+            }
+        }
+        return students;
+    }
+
+    public int getExamCount() {
+        return exams.size();
+    }
+
+    public Exam getExam(int exam) {
+        return exams.get(exam);
+    }
+
+    public List<Exam> getExams() {
+        return new ArrayList<>(exams);
+    }
+
+    public int indexOfExam(Exam exam) {
+        Integer ordinal = examOrdinals.get(exam);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public int getStudentCount() {
+        return students.size();
+    }
+
+    public Student getStudent(int student) {
+        return students.get(student);
+    }
+
+    public int indexOfStudent(Student student) {
+        Integer ordinal = studentOrdinals.get(student);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * Number of distinct students enrolled in the exam.
+     */
+    public int getEnrollmentCount(int exam) {
+        return examStudentOffsets[exam + 1] - examStudentOffsets[exam];
+    }
+
+    public int getExamStudent(int exam, int position) {
+        return examStudents[examStudentOffsets[exam] + position];
+    }
+
+    /**
+     * Number of exams the student sits.
+     */
+    public int getStudentExamCount(int student) {
+        return studentExamOffsets[student + 1] - studentExamOffsets[student];
+    }
+
+    public int getStudentExam(int student, int position) {
+        return studentExams[studentExamOffsets[student] + position];
+    }
+
+    public int getSlotCount() {
+        return slots.size();
+    }
+
+    public TimeSlot getSlot(int slot) {
+        return slots.get(slot);
+    }
+
+    public List<TimeSlot> getSlots() {
+        return new ArrayList<>(slots);
+    }
+
+    public int indexOfSlot(TimeSlot timeSlot) {
+        Integer ordinal = slotOrdinals.get(timeSlot);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * True when the slot has a date, a start and an end time.
+     */
+    public boolean isSlotComplete(int slot) {
+        return slotStarts[slot] >= 0;
+    }
+
+    /**
+     * Start of the slot in minutes from midnight of the first exam day, or -1.
+     */
+    public int getSlotStart(int slot) {
+        return slotStarts[slot];
+    }
+
+    /**
+     * End of the slot in minutes from midnight of the first exam day, or -1.
+     */
+    public int getSlotEnd(int slot) {
+        return slotEnds[slot];
+    }
+
+    /**
+     * Day ordinal of the slot, or -1 when the slot has no date.
+     */
+    public int getSlotDay(int slot) {
+        return slotDays[slot];
+    }
+
+    public int getDayCount() {
+        return days.size();
+    }
+
+    public LocalDate getDate(int day) {
+        return days.get(day);
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    public Room getRoom(int room) {
+        return rooms.get(room);
+    }
+
+    public int indexOfRoom(Room room) {
+        Integer ordinal = roomOrdinals.get(room);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public int getRoomCapacity(int room) {
+        return roomCapacities[room];
+    }
+
+    @Override
+    public String toString() {
+        return "ProblemInstance{" +
+                "exams=" + exams.size() +
+                ", students=" + students.size() +
+                ", enrollments=" + examStudents.length +
+                ", slots=" + slots.size() +
+                ", rooms=" + rooms.size() +
+                '}';
+    }
+}
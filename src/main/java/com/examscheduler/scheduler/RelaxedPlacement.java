@@ -0,0 +1,65 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.entity.Exam;
+import com.examscheduler.entity.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An exam placed by a relaxation pass, i.e. only after the exams-per-day limit was raised,
+ * with the students who sit more exams that day than the configured limit allows.
+ */
+public class RelaxedPlacement {
+    private final int pass;
+    private final int limit;
+    private final Exam exam;
+    private final LocalDate date;
+    private final List<Student> overbookedStudents;
+
+    RelaxedPlacement(int pass, int limit, Exam exam, LocalDate date, List<Student> overbookedStudents) {
+        this.pass = pass;
+        this.limit = limit;
+        this.exam = exam;
+        this.date = date;
+        this.overbookedStudents = new ArrayList<>(overbookedStudents);
+    }
+
+    /**
+     * Relaxation pass that placed the exam, starting at 1.
+     */
+    public int getPass() {
+        return pass;
+    }
+
+    /**
+     * Exams-per-day limit used in that pass.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    public Exam getExam() {
+        return exam;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public List<Student> getOverbookedStudents() {
+        return new ArrayList<>(overbookedStudents);
+    }
+
+    @Override
+    public String toString() {
+        return "RelaxedPlacement{" +
+                "pass=" + pass +
+                ", limit=" + limit +
+                ", exam=" + (exam != null ? exam.getExamId() : null) +
+                ", date=" + date +
+                ", overbooked=" + overbookedStudents.size() +
+                '}';
+    }
+}
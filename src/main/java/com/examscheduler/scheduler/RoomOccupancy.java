@@ -0,0 +1,129 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.entity.Room;
+
+import java.util.Arrays;
+
+/**
+ * Dense room-by-slot occupancy matrix for a single scheduling run.
+ *
+ * Each cell counts the sessions in that room whose slot overlaps the cell's slot,
+ * using the overlap lists of {@link TimeSlotIndex}, so slots of unequal length are
+ * handled and availability is a single array read. Room ordinals come from the
+ * {@link ProblemInstance}, which numbers rooms in descending capacity order, so every
+ * available-room listing is sorted largest first. The seats left free in each slot are
+ * kept up to date as rooms are occupied and released.
+ */
+public class RoomOccupancy {
+    private final ProblemInstance problem;
+    private final int roomCount;
+    private final TimeSlotIndex slotIndex;
+    private final int[] overlappingSessions;
+    private final long totalCapacity;
+    private final long[] freeCapacity;
+
+    public RoomOccupancy(ProblemInstance problem, TimeSlotIndex slotIndex) {
+        this.problem = problem;
+        this.roomCount = problem.getRoomCount();
+        this.slotIndex = slotIndex;
+        this.overlappingSessions = new int[slotIndex.size() * roomCount];
+        long capacity = 0;
+        for (int room = 0; room < roomCount; room++) {
+            capacity += problem.getRoomCapacity(room);
+        }
+        this.totalCapacity = capacity;
+        this.freeCapacity = new long[slotIndex.size()];
+        Arrays.fill(freeCapacity, totalCapacity);
+    }
+
+    /**
+     * Copy with the same occupied cells. The problem instance is shared, the matrix is not.
+     */
+    public RoomOccupancy(RoomOccupancy other) {
+        this.problem = other.problem;
+        this.roomCount = other.roomCount;
+        this.slotIndex = other.slotIndex;
+        this.overlappingSessions = other.overlappingSessions.clone();
+        this.totalCapacity = other.totalCapacity;
+        this.freeCapacity = other.freeCapacity.clone();
+    }
+
+    public int size() {
+        return roomCount;
+    }
+
+    public int indexOf(Room room) {
+        return problem.indexOfRoom(room);
+    }
+
+    public Room getRoom(int ordinal) {
+        return problem.getRoom(ordinal);
+    }
+
+    public int getCapacity(int ordinal) {
+        return problem.getRoomCapacity(ordinal);
+    }
+
+    public boolean isAvailable(int room, int slot) {
+        return overlappingSessions[slot * roomCount + room] == 0;
+    }
+
+    /**
+     * Writes the ordinals of the rooms free in the given slot into {@code buffer},
+     * largest capacity first, and returns how many were written. The buffer must hold
+     * at least {@link #size()} entries.
+     */
+    public int collectAvailableRooms(int slot, int[] buffer) {
+        int count = 0;
+        int offset = slot * roomCount;
+        for (int room = 0; room < roomCount; room++) {
+            if (overlappingSessions[offset + room] == 0) {
+                buffer[count++] = room;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * True when the rooms free in the slot can seat {@code students}, either in one
+     * room or split across several. Reads only, so it is safe to call concurrently.
+     */
+    public boolean canHost(int slot, int students) {
+        return freeCapacity[slot] >= students;
+    }
+
+    public long getTotalCapacity() {
+        return totalCapacity;
+    }
+
+    /**
+     * Total capacity of the rooms free in the slot.
+     */
+    public long getFreeCapacity(int slot) {
+        return freeCapacity[slot];
+    }
+
+    public void occupy(int room, int slot) {
+        for (int p = 0; p < slotIndex.getOverlapCount(slot); p++) {
+            int overlapping = slotIndex.getOverlapping(slot, p);
+            if (overlappingSessions[overlapping * roomCount + room]++ == 0) {
+                freeCapacity[overlapping] -= problem.getRoomCapacity(room);
+            }
+        }
+    }
+
+    public void release(int room, int slot) {
+        for (int p = 0; p < slotIndex.getOverlapCount(slot); p++) {
+            int overlapping = slotIndex.getOverlapping(slot, p);
+            int cell = overlapping * roomCount + room;
+            if (overlappingSessions[cell] > 0 && --overlappingSessions[cell] == 0) {
+                freeCapacity[overlapping] += problem.getRoomCapacity(room);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(overlappingSessions, 0);
+        Arrays.fill(freeCapacity, totalCapacity);
+    }
+}
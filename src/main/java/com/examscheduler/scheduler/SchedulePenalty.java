@@ -0,0 +1,200 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.entity.ExamSession;
+import com.examscheduler.entity.Schedule;
+import com.examscheduler.entity.Student;
+import com.examscheduler.entity.TimeSlot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Weighted soft-constraint cost of a schedule, so that two valid schedules can be compared
+ * (lower is better):
+ * <ul>
+ *   <li>proximity: Carter's cost per pair of a student's exams, 16, 8, 4, 2 and 1 for
+ *       exams 1 to 5 periods apart, where periods are the distinct slot start times;</li>
+ *   <li>same day: one per pair of a student's exams on the same date;</li>
+ *   <li>room fill: the share of empty seats, summed over sessions.</li>
+ * </ul>
+ *
+ * The cost is computed once from the schedule and then kept up to date by
+ * {@link #move(ExamSession, TimeSlot)}, which moves the session through
+ * {@link Schedule#moveExamSession} so the schedule's constraints see the move too.
+ * {@link #moveDelta} prices moving a session to another slot by visiting only the other
+ * sessions of that session's students.
+ */
+public class SchedulePenalty {
+    private static final int[] CARTER_WEIGHTS = {0, 16, 8, 4, 2, 1};
+
+    private final Schedule schedule;
+    private final PenaltyWeights weights;
+    private final Map<Student, List<ExamSession>> sessionsByStudent = new HashMap<>();
+    private final Map<LocalDateTime, Integer> periods = new HashMap<>();
+    private long proximityCost;
+    private long sameDayPairs;
+    private double roomFillCost;
+
+    public SchedulePenalty(Schedule schedule, PenaltyWeights weights) {
+        this(schedule, null, weights);
+    }
+
+    /**
+     * @param candidateSlots slots sessions may later be moved to, on top of those already
+     *                       used by the schedule (may be null)
+     */
+    public SchedulePenalty(Schedule schedule, Collection<TimeSlot> candidateSlots, PenaltyWeights weights) {
+        this.schedule = schedule;
+        this.weights = weights != null ? weights : new PenaltyWeights();
+        List<ExamSession> sessions = schedule != null ? schedule.getExamSessions() : new ArrayList<>();
+
+        TreeSet<LocalDateTime> starts = new TreeSet<>();
+        for (ExamSession session : sessions) {
+            addStart(starts, session.getTimeSlot());
+        }
+        if (candidateSlots != null) {
+            for (TimeSlot timeSlot : candidateSlots) {
+                addStart(starts, timeSlot);
+            }
+        }
+        for (LocalDateTime start : starts) {
+            periods.put(start, periods.size());
+        }
+
+        for (ExamSession session : sessions) {
+            for (Student student : session.getAssignedStudents()) {
+                sessionsByStudent.computeIfAbsent(student, s -> new ArrayList<>()).add(session);
+            }
+            roomFillCost += emptyShare(session);
+        }
+        for (List<ExamSession> studentSessions : sessionsByStudent.values()) {
+            for (int i = 0; i < studentSessions.size(); i++) {
+                TimeSlot first = studentSessions.get(i).getTimeSlot();
+                for (int j = i + 1; j < studentSessions.size(); j++) {
+                    TimeSlot second = studentSessions.get(j).getTimeSlot();
+                    proximityCost += proximity(first, second);
+                    sameDayPairs += sameDay(first, second);
+                }
+            }
+        }
+    }
+
+    private static void addStart(TreeSet<LocalDateTime> starts, TimeSlot timeSlot) {
+        if (timeSlot != null && timeSlot.getDate() != null && timeSlot.getStartTime() != null) {
+            starts.add(LocalDateTime.of(timeSlot.getDate(), timeSlot.getStartTime()));
+        }
+    }
+
+    private int periodOf(TimeSlot timeSlot) {
+        if (timeSlot == null || timeSlot.getDate() == null || timeSlot.getStartTime() == null) {
+            return -1;
+        }
+        Integer period = periods.get(LocalDateTime.of(timeSlot.getDate(), timeSlot.getStartTime()));
+        if (period == null) {
+            throw new IllegalArgumentException("Time slot " + timeSlot + " was not given to the penalty model");
+        }
+        return period;
+    }
+
+    private int proximity(TimeSlot first, TimeSlot second) {
+        return proximity(periodOf(first), periodOf(second));
+    }
+
+    private static int proximity(int firstPeriod, int secondPeriod) {
+        if (firstPeriod < 0 || secondPeriod < 0) {
+            return 0;
+        }
+        int gap = Math.abs(firstPeriod - secondPeriod);
+        return gap < CARTER_WEIGHTS.length ? CARTER_WEIGHTS[gap] : 0;
+    }
+
+    private static int sameDay(TimeSlot first, TimeSlot second) {
+        return first != null && second != null && first.getDate() != null
+                && first.getDate().equals(second.getDate()) ? 1 : 0;
+    }
+
+    private static double emptyShare(ExamSession session) {
+        if (session.getRoom() == null || session.getRoom().getCapacity() <= 0) {
+            return 0;
+        }
+        int capacity = session.getRoom().getCapacity();
+        return Math.max(0, capacity - session.getAssignedStudents().size()) / (double) capacity;
+    }
+
+    /**
+     * Change of {@link #getTotal()} if the session moved to {@code target}, without moving it.
+     * Takes time proportional to the exams of the session's students.
+     */
+    public double moveDelta(ExamSession session, TimeSlot target) {
+        long[] delta = pairDeltas(session, target);
+        return weights.getProximity() * delta[0] + weights.getSameDay() * delta[1];
+    }
+
+    /**
+     * Moves the session of the schedule to {@code target}, keeping its room, and updates the
+     * cost. Other sessions of the same exam are not moved; sessions not in the schedule are
+     * left where they are.
+     */
+    public void move(ExamSession session, TimeSlot target) {
+        if (schedule == null) {
+            return;
+        }
+        long[] delta = pairDeltas(session, target);
+        schedule.moveExamSession(session, target, session.getRoom());
+        if (session.getTimeSlot() == target) {
+            proximityCost += delta[0];
+            sameDayPairs += delta[1];
+        }
+    }
+
+    private long[] pairDeltas(ExamSession session, TimeSlot target) {
+        TimeSlot current = session.getTimeSlot();
+        int currentPeriod = periodOf(current);
+        int targetPeriod = periodOf(target);
+        long proximityDelta = 0;
+        long sameDayDelta = 0;
+        for (Student student : session.getAssignedStudents()) {
+            for (ExamSession other : sessionsByStudent.getOrDefault(student, List.of())) {
+                if (other == session) {
+                    continue;
+                }
+                int otherPeriod = periodOf(other.getTimeSlot());
+                proximityDelta += proximity(targetPeriod, otherPeriod) - proximity(currentPeriod, otherPeriod);
+                sameDayDelta += sameDay(target, other.getTimeSlot()) - sameDay(current, other.getTimeSlot());
+            }
+        }
+        return new long[]{proximityDelta, sameDayDelta};
+    }
+
+    public PenaltyWeights getWeights() {
+        return weights;
+    }
+
+    public long getProximityCost() {
+        return proximityCost;
+    }
+
+    public long getSameDayPairs() {
+        return sameDayPairs;
+    }
+
+    public double getRoomFillCost() {
+        return roomFillCost;
+    }
+
+    public double getTotal() {
+        return weights.getProximity() * proximityCost + weights.getSameDay() * sameDayPairs
+                + weights.getRoomFill() * roomFillCost;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SchedulePenalty{total=%.2f, proximity=%d, sameDay=%d, roomFill=%.2f}",
+                getTotal(), proximityCost, sameDayPairs, roomFillCost);
+    }
+}
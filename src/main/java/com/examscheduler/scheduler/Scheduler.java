@@ -5,28 +5,70 @@ import com.examscheduler.constraint.NoConsecutiveExamsConstraint;
 import com.examscheduler.constraint.NoOverlapConstraint;
 import com.examscheduler.constraint.RoomCapacityConstraint;
 import com.examscheduler.constraint.Constraint;
+import com.examscheduler.constraint.Violation;
 import com.examscheduler.entity.*;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 
 public class Scheduler {
+    // Portfolio runs are ranked by unscheduled exams first, then back-to-back exams.
+    private static final Comparator<SchedulingState> RUN_QUALITY =
+            Comparator.comparingInt(SchedulingState::getUnplacedCount)
+                    .thenComparingLong(SchedulingState::countConsecutivePairs);
+
+    private static final long SNAPSHOT_INTERVAL_NANOS = 250_000_000L;
+
     private List<Room> availableRooms;
     private List<TimeSlot> availableTimeSlots;
     private int maxExamsPerDay;
+    private int minimumGapMinutes = 0;
     private List<Constraint> customConstraints;
+    private SchedulingStrategy strategy;
+    private Random random = new Random();
+    private int portfolioSize = 1;
+    private ForkJoinPool slotEvaluationPool;
+    private SlotEvaluator slotEvaluator = new SlotEvaluator(null);
+    private long improvementTimeBudgetMillis = 500;
+    private double annealingInitialTemperature = 500.0;
+    private double annealingCoolingRate = 0.95;
+    private int maxRepairMoves = 2;
+    private long branchAndBoundNodeLimit = 2_000_000;
+    private boolean componentDecomposition = true;
+    private boolean stopWhenInfeasible = false;
+    private FeasibilityReport lastFeasibilityReport;
+    private PenaltyWeights penaltyWeights = new PenaltyWeights();
+    private SchedulePenalty lastPenalty;
+    private int relaxationPasses = 0;
+    private List<RelaxedPlacement> lastRelaxedPlacements = new ArrayList<>();
+    private SchedulerStatistics lastStatistics;
+    private Trace trace = Trace.DISABLED;
 
     public Scheduler() {
         this.availableRooms = new ArrayList<>();
         this.availableTimeSlots = new ArrayList<>();
         this.maxExamsPerDay = 2;
         this.customConstraints = new ArrayList<>();
+        this.strategy = SchedulingStrategy.LARGEST_ENROLLMENT_FIRST;
     }
 
     public Scheduler(List<Room> availableRooms, List<TimeSlot> availableTimeSlots, int maxExamsPerDay) {
@@ -34,6 +76,7 @@ public class Scheduler {
         this.availableTimeSlots = availableTimeSlots != null ? new ArrayList<>(availableTimeSlots) : new ArrayList<>();
         this.maxExamsPerDay = maxExamsPerDay;
         this.customConstraints = new ArrayList<>();
+        this.strategy = SchedulingStrategy.LARGEST_ENROLLMENT_FIRST;
     }
 
     public Scheduler(List<Room> availableRooms, List<TimeSlot> availableTimeSlots, int maxExamsPerDay, List<Constraint> customConstraints) {
@@ -41,42 +84,58 @@ public class Scheduler {
         this.availableTimeSlots = availableTimeSlots != null ? new ArrayList<>(availableTimeSlots) : new ArrayList<>();
         this.maxExamsPerDay = maxExamsPerDay;
         this.customConstraints = customConstraints != null ? new ArrayList<>(customConstraints) : new ArrayList<>();
+        this.strategy = SchedulingStrategy.LARGEST_ENROLLMENT_FIRST;
+    }
+
+    public Scheduler(List<Room> availableRooms, List<TimeSlot> availableTimeSlots, int maxExamsPerDay, List<Constraint> customConstraints, SchedulingStrategy strategy) {
+        this(availableRooms, availableTimeSlots, maxExamsPerDay, customConstraints);
+        this.strategy = strategy != null ? strategy : SchedulingStrategy.LARGEST_ENROLLMENT_FIRST;
     }
 
     public Schedule generateSchedule(List<Course> courses, List<Exam> exams) {
-        // DEBUG: Print scheduler configuration
-        System.out.println("=== SCHEDULER DEBUG ===");
-        System.out.println("Available rooms: " + (availableRooms != null ? availableRooms.size() : 0));
-        if (availableRooms != null) {
-            for (Room r : availableRooms) {
-                System.out.println("  - Room: " + r.getRoomId() + " (" + r.getRoomName() + "), Capacity: " + r.getCapacity());
+        return generateSchedule(courses, exams, null, null, null);
+    }
+
+    /**
+     * Anytime generation. The search stops when {@code timeBudget} has elapsed (replacing
+     * the improvement time budget) or the token is cancelled, and the best schedule found
+     * so far is returned. Any argument may be null.
+     *
+     * Improving intermediate schedules are passed to {@code onImprovement}, at most every
+     * 250 ms and from the thread doing the search. Snapshots are detached: their sessions
+     * list their students, but students and exams are not linked back to them.
+     */
+    public Schedule generateSchedule(List<Course> courses, List<Exam> exams, Duration timeBudget,
+                                     CancellationToken cancellationToken, Consumer<Schedule> onImprovement) {
+        SolveControl control = new SolveControl(timeBudget, cancellationToken, onImprovement);
+        SchedulerStatistics statistics = new SchedulerStatistics();
+        lastStatistics = statistics;
+        long phaseStart = System.nanoTime();
+        if (trace.info) {
+            trace.info("=== SCHEDULER ===");
+            trace.info("Available rooms: " + (availableRooms != null ? availableRooms.size() : 0));
+            if (trace.debug && availableRooms != null) {
+                for (Room r : availableRooms) {
+                    trace.debug("  - Room: " + r.getRoomId() + " (" + r.getRoomName() + "), Capacity: " + r.getCapacity());
+                }
             }
+            trace.info("Available time slots: " + (availableTimeSlots != null ? availableTimeSlots.size() : 0));
+            trace.info("Max exams per day limit: " + maxExamsPerDay);
+            trace.info("Strategy: " + strategy);
+            trace.info("Portfolio runs: " + portfolioSize);
+            trace.info("======================");
         }
-        System.out.println("Available time slots: " + (availableTimeSlots != null ? availableTimeSlots.size() : 0));
-        System.out.println("Max exams per day limit: " + maxExamsPerDay);
-        System.out.println("======================");
 
-        Schedule schedule = new Schedule(
-            UUID.randomUUID().toString(),
-            "Generated Exam Schedule",
-            LocalDate.now(),
-            LocalDate.now().plusMonths(1)
-        );
-
-        schedule.addConstraint(new NoOverlapConstraint());
-        schedule.addConstraint(new MaxExamsPerDayConstraint(maxExamsPerDay));
-        schedule.addConstraint(new NoConsecutiveExamsConstraint());
-        schedule.addConstraint(new RoomCapacityConstraint());
-        for (Constraint constraint : customConstraints) {
-            schedule.addConstraint(constraint);
-        }
+        Schedule schedule = newSchedule();
 
         List<Exam> examsToSchedule = new ArrayList<>();
 
         // Use imported exams if provided, otherwise create from courses
         if (exams != null && !exams.isEmpty()) {
             examsToSchedule.addAll(exams);
-            System.out.println("DEBUG: Using " + exams.size() + " imported exams");
+            if (trace.info) {
+                trace.info("Using " + exams.size() + " imported exams");
+            }
         } else if (courses != null) {
             // Fallback: create exams from courses (for backward compatibility)
             for (Course course : courses) {
@@ -87,197 +146,841 @@ public class Scheduler {
                 int duration = course.getExamDurationMinutes() > 0 ? course.getExamDurationMinutes() : 120;
                 examsToSchedule.add(new Exam(examId, course, "Course Exam", duration));
             }
-            System.out.println("DEBUG: Created " + examsToSchedule.size() + " exams from courses");
+            if (trace.info) {
+                trace.info("Created " + examsToSchedule.size() + " exams from courses");
+            }
         }
 
         // Prioritization: Sort exams by number of students in descending order
         examsToSchedule.sort(Comparator.comparingInt((Exam exam) -> exam.getEnrolledStudents().size()).reversed());
 
-        for (Exam exam : examsToSchedule) {
-            List<Student> enrolledStudents = exam.getEnrolledStudents();
-            if (enrolledStudents.isEmpty()) {
-                schedule.addSchedulingNote("Skipped exam " + exam.getExamId() + ": No enrolled students.");
-                continue;
-            }
-
-            List<ExamSession> sessions = findAndCreateExamSessions(exam, enrolledStudents, schedule, maxExamsPerDay);
+        // Build the conflict graph and occupancy indexes once; slot feasibility is then
+        // checked against neighbouring exams and per-student counters only.
+        ProblemInstance problem = new ProblemInstance(examsToSchedule, availableTimeSlots, availableRooms);
+        SchedulingState state = new SchedulingState(problem, minimumGapMinutes);
+        if (trace.info) {
+            trace.info(problem.toString());
+            trace.info(state.getConflictGraph().toString());
+        }
+        phaseStart = endPhase(SchedulerStatistics.Phase.MODEL_BUILD, phaseStart);
 
-            if (sessions.isEmpty()) {
-                // Detailed logging is now handled inside findAndCreateExamSessions
-            } else {
-                for (ExamSession session : sessions) {
-                    exam.addExamSession(session);
-                    schedule.addExamSession(session);
+        // Lower bounds first: when one fails, no search can place every exam. Relaxation
+        // passes may go up to the raised limit, so the bounds are checked against that.
+        lastPenalty = null;
+        lastRelaxedPlacements = new ArrayList<>();
+        lastFeasibilityReport = FeasibilityAnalysis.analyze(state, maxExamsPerDay + relaxationPasses);
+        if (trace.info) {
+            trace.info(lastFeasibilityReport.toString());
+        }
+        endPhase(SchedulerStatistics.Phase.FEASIBILITY, phaseStart);
+        if (lastFeasibilityReport.isProvablyInfeasible()) {
+            for (String bound : lastFeasibilityReport.getFailedBounds()) {
+                if (trace.info) {
+                    trace.info("  ✗ PROVABLY INFEASIBLE: " + bound);
                 }
+                if (stopWhenInfeasible) {
+                    schedule.addSchedulingNote("PROVABLY INFEASIBLE: " + bound);
+                }
+            }
+            if (stopWhenInfeasible) {
+                return schedule;
             }
         }
 
-        List<String> violations = schedule.validate();
+        long improvementStart = System.nanoTime();
+        if (portfolioSize > 1) {
+            state = solvePortfolio(state, control);
+        } else {
+            solve(state, random, control);
+        }
+
+        materializeSessions(state, schedule, control);
+        reducePenalty(schedule, control, improvementStart);
+
+        phaseStart = System.nanoTime();
+        List<Violation> violations = schedule.checkViolations();
         if (!violations.isEmpty()) {
-            attemptToResolveViolations(schedule, violations);
+            reportViolations(violations);
+        }
+        lastPenalty = new SchedulePenalty(schedule, availableTimeSlots, penaltyWeights);
+        endPhase(SchedulerStatistics.Phase.VALIDATION, phaseStart);
+        if (trace.info) {
+            trace.info(lastPenalty.toString());
+            trace.info(statistics.toString());
         }
 
         return schedule;
     }
 
-    private List<ExamSession> findAndCreateExamSessions(Exam exam, List<Student> students, Schedule schedule, int currentMaxPerDay) {
-        System.out.println("\nDEBUG: Scheduling exam " + exam.getExamId() + " for " + students.size() + " students (current limit: " + currentMaxPerDay + " exams/day)");
-        Map<String, Integer> failureReasons = new HashMap<>();
+    /**
+     * Adds the time since {@code phaseStart} to the phase and returns the current time, so
+     * consecutive phases can be chained.
+     */
+    private long endPhase(SchedulerStatistics.Phase phase, long phaseStart) {
+        long now = System.nanoTime();
+        lastStatistics.addPhaseTime(phase, now - phaseStart);
+        return now;
+    }
+
+    private Schedule newSchedule() {
+        Schedule schedule = new Schedule(
+            UUID.randomUUID().toString(),
+            "Generated Exam Schedule",
+            LocalDate.now(),
+            LocalDate.now().plusMonths(1)
+        );
+
+        schedule.addConstraint(new NoOverlapConstraint());
+        schedule.addConstraint(new MaxExamsPerDayConstraint(maxExamsPerDay));
+        schedule.addConstraint(new NoConsecutiveExamsConstraint(minimumGapMinutes));
+        schedule.addConstraint(new RoomCapacityConstraint());
+        for (Constraint constraint : customConstraints) {
+            schedule.addConstraint(constraint);
+        }
+        return schedule;
+    }
 
-        for (TimeSlot timeSlot : availableTimeSlots) {
-            // Step 1: Check for student conflicts using a temporary session, as requested.
-            boolean studentConflict = false;
-            ExamSession proposedSession = new ExamSession(null, exam, timeSlot, null);
-            for (Student student : students) {
-                if (student.hasExamOverlap(proposedSession)) {
-                    studentConflict = true;
+    /**
+     * Construction pass plus improvement phase for one run, working on the given state
+     * only. Every choice that is random draws from {@code runRandom}.
+     */
+    private void solve(SchedulingState state, Random runRandom, SolveControl control) {
+        long phaseStart = System.nanoTime();
+        int[][] components = componentDecomposition ? state.getConflictGraph().getComponents() : new int[0][];
+        int threads = Math.min(components.length, Runtime.getRuntime().availableProcessors());
+        SlotDomains domains = new SlotDomains(state, maxExamsPerDay, slotEvaluator, trace, lastStatistics);
+        phaseStart = endPhase(SchedulerStatistics.Phase.ORDERING, phaseStart);
+        if (threads > 1) {
+            constructByComponents(state, components, threads, domains, runRandom, control);
+        } else {
+            construct(state, null, domains, runRandom, control);
+        }
+        control.offer(state, SimulatedAnnealing.costOf(state));
+        phaseStart = endPhase(SchedulerStatistics.Phase.PLACEMENT, phaseStart);
+
+        // Improvement phase: local search over the assignment state for the exams the
+        // construction pass left unscheduled and for remaining constraint violations. In
+        // thorough mode it gets half the budget and branch and bound the other half.
+        long budgetMillis = control.getImprovementBudgetMillis();
+        boolean thorough = strategy == SchedulingStrategy.BRANCH_AND_BOUND;
+        long annealingMillis = thorough ? budgetMillis / 2 : budgetMillis;
+        if (annealingMillis > 0 && !control.shouldStop()) {
+            SimulatedAnnealing annealing = new SimulatedAnnealing(state, maxExamsPerDay, runRandom,
+                    annealingMillis, annealingInitialTemperature, annealingCoolingRate);
+            annealing.setCancellationToken(control.cancellationToken);
+            annealing.setBestListener(cost -> control.offer(state, cost));
+            annealing.run();
+            lastStatistics.countImprovementSteps(annealing.getIterations());
+            if (trace.info) {
+                trace.info("Improvement phase cost " + annealing.getInitialCost() + " -> " + annealing.getBestCost()
+                        + " after " + annealing.getIterations() + " moves");
+            }
+        }
+        if (thorough && !control.shouldStop()) {
+            searchExactly(state, components.length > 0 ? components : new int[][]{null},
+                    budgetMillis - annealingMillis, control);
+            control.offer(state, SimulatedAnnealing.costOf(state));
+        }
+        lastStatistics.countRoomsScanned(state.takeRoomsScanned());
+        endPhase(SchedulerStatistics.Phase.IMPROVEMENT, phaseStart);
+    }
+
+    /**
+     * Soft-constraint pass on the finished schedule: each exam in turn moves, with all its
+     * sessions and rooms, to the slot that lowers the {@link SchedulePenalty} most. A move is
+     * kept only when the schedule has no more hard and no more soft violations than before,
+     * so the ranking by unscheduled and back-to-back exams never gets worse. Passes repeat
+     * until no exam moves or the improvement time budget, counted from
+     * {@code improvementStart}, is used up; the search usually stops early on small
+     * problems and leaves its time to this pass. Skipped after relaxation passes, whose
+     * recorded over-bookings a move would invalidate; zero penalty weights make it a no-op.
+     */
+    private void reducePenalty(Schedule schedule, SolveControl control, long improvementStart) {
+        long deadline = control.getImprovementDeadline(improvementStart);
+        if (!lastRelaxedPlacements.isEmpty() || control.shouldStop() || System.nanoTime() >= deadline) {
+            return;
+        }
+        long phaseStart = System.nanoTime();
+        Map<Exam, List<ExamSession>> sessionsByExam = new LinkedHashMap<>();
+        for (ExamSession session : schedule.getExamSessions()) {
+            sessionsByExam.computeIfAbsent(session.getExam(), e -> new ArrayList<>()).add(session);
+        }
+        SchedulePenalty penalty = new SchedulePenalty(schedule, availableTimeSlots, penaltyWeights);
+        double initialTotal = penalty.getTotal();
+        schedule.startIncrementalValidation();
+        int[] violationsBefore = countBySeverity(schedule.getCurrentViolations());
+        int moves = 0;
+        long tries = 0;
+        boolean moved = true;
+        while (moved && !control.shouldStop() && System.nanoTime() < deadline) {
+            moved = false;
+            for (List<ExamSession> sessions : sessionsByExam.values()) {
+                if (control.shouldStop() || System.nanoTime() >= deadline) {
                     break;
                 }
+                TimeSlot current = sessions.get(0).getTimeSlot();
+                List<TimeSlot> targets = new ArrayList<>();
+                Map<TimeSlot, Double> deltas = new LinkedHashMap<>();
+                for (TimeSlot target : availableTimeSlots) {
+                    if (target == current) {
+                        continue;
+                    }
+                    double delta = 0;
+                    for (ExamSession session : sessions) {
+                        delta += penalty.moveDelta(session, target);
+                    }
+                    if (delta < -1e-9) {
+                        targets.add(target);
+                        deltas.put(target, delta);
+                    }
+                }
+                targets.sort(Comparator.comparingDouble(deltas::get));
+                for (TimeSlot target : targets) {
+                    tries++;
+                    for (ExamSession session : sessions) {
+                        penalty.move(session, target);
+                    }
+                    int[] violationsAfter = countBySeverity(schedule.getCurrentViolations());
+                    if (violationsAfter[0] <= violationsBefore[0] && violationsAfter[1] <= violationsBefore[1]) {
+                        violationsBefore = violationsAfter;
+                        moves++;
+                        moved = true;
+                        break;
+                    }
+                    for (ExamSession session : sessions) {
+                        penalty.move(session, current);
+                    }
+                }
             }
-            if (studentConflict) {
-                failureReasons.merge("STUDENT_CONFLICT", 1, Integer::sum);
-                continue;
-            }
+        }
+        schedule.stopIncrementalValidation();
+        lastStatistics.countImprovementSteps(tries);
+        if (trace.info) {
+            trace.info(String.format("Penalty pass moved %d exam(s) in %d tries: %.2f -> %.2f", moves, tries,
+                    initialTotal, penalty.getTotal()));
+        }
+        endPhase(SchedulerStatistics.Phase.IMPROVEMENT, phaseStart);
+    }
 
-            // Step 1.5: Check for max exams per day constraint (using current pass limit)
-            boolean maxExamsConflict = false;
-            for (Student student : students) {
-                if (student.getDailyExamCount(timeSlot.getDate()) >= currentMaxPerDay) {
-                    maxExamsConflict = true;
-                    break;
+    private static int[] countBySeverity(List<Violation> violations) {
+        int[] counts = new int[2];
+        for (Violation violation : violations) {
+            counts[violation.severity() == Violation.Severity.HARD ? 0 : 1]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Thorough mode: improves the assignment with an exact branch and bound per exam group
+     * (a null group stands for all exams) while the other groups stay where they are.
+     * Groups share no students, so the cost is a sum over groups; they do share rooms, so
+     * a group proved optimal is optimal for the rooms the other groups leave free. The
+     * budget is shared out evenly over the groups still to search, so small groups that
+     * finish early leave their time to the rest.
+     */
+    private void searchExactly(SchedulingState state, int[][] groups, long budgetMillis, SolveControl control) {
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+        int proven = 0;
+        for (int g = 0; g < groups.length && !control.shouldStop(); g++) {
+            int[] group = groups[g];
+            if (group == null) {
+                group = new int[state.getExamCount()];
+                for (int exam = 0; exam < group.length; exam++) {
+                    group[exam] = exam;
                 }
             }
-            if (maxExamsConflict) {
-                failureReasons.merge("MAX_EXAMS_PER_DAY", 1, Integer::sum);
-                continue; // Try the next time slot
+            long groupDeadline = System.nanoTime() + Math.max(0, deadline - System.nanoTime()) / (groups.length - g);
+            BranchAndBound search = new BranchAndBound(state, group, maxExamsPerDay, branchAndBoundNodeLimit,
+                    groupDeadline, control.cancellationToken);
+            if (search.run()) {
+                proven++;
+            }
+            lastStatistics.countImprovementSteps(search.getNodes());
+            if (trace.info) {
+                trace.info("Branch and bound over " + group.length + " exam(s): cost " + search.getBestCost()
+                        + " after " + search.getNodes() + " node(s)");
             }
+        }
+        if (trace.info) {
+            trace.info("Branch and bound proved " + proven + " of " + groups.length + " exam group(s) optimal");
+        }
+    }
 
-            // Step 2: Find available rooms for this time slot.
-            System.out.println("  Checking time slot: " + timeSlot.getDate() + " " + timeSlot.getStartTime());
-            List<Room> availableRoomsForSlot = new ArrayList<>();
-            for (Room room : this.availableRooms) {
-                if (isRoomAvailable(room, timeSlot, new ArrayList<>(), schedule)) {
-                    availableRoomsForSlot.add(room);
+    /**
+     * Construction pass over the given exams (all exams when null), in DSATUR or index order,
+     * with forward checking: every placement prunes the slot domains of the exams still
+     * waiting, and each exam takes the first slot left in its domain.
+     */
+    private void construct(SchedulingState state, int[] exams, SlotDomains domains, Random runRandom,
+                           SolveControl control) {
+        SlotDomains.Pruner pruner = domains.pruner(exams);
+        if (strategy == SchedulingStrategy.DSATUR || strategy == SchedulingStrategy.BRANCH_AND_BOUND) {
+            // Pick the exam with the fewest slots left next, re-ranking the exams a placement prunes.
+            DsaturQueue queue = new DsaturQueue(state.getConflictGraph(), domains, state.getSlotIndex().size(), exams);
+            while (!queue.isEmpty() && !control.shouldStop()) {
+                int examIndex = queue.poll();
+                if (scheduleExam(examIndex, state, domains, runRandom)) {
+                    pruner.afterPlacing(examIndex, queue::update);
                 }
             }
-            System.out.println("  Available rooms for this slot: " + availableRoomsForSlot.size());
-
-            // Step 3: Try to find a single room that fits.
-            List<Room> roomsThatFit = new ArrayList<>();
-            for (Room room : availableRoomsForSlot) {
-                if (room.getCapacity() >= students.size()) {
-                    roomsThatFit.add(room);
+        } else {
+            int count = exams != null ? exams.length : state.getExamCount();
+            for (int i = 0; i < count && !control.shouldStop(); i++) {
+                int examIndex = exams != null ? exams[i] : i;
+                if (scheduleExam(examIndex, state, domains, runRandom)) {
+                    pruner.afterPlacing(examIndex, null);
                 }
             }
-            System.out.println("  Rooms that fit " + students.size() + " students: " + roomsThatFit.size());
+        }
+        if (trace.info && pruner.getWipedOut() > 0) {
+            trace.info("Forward checking found " + pruner.getWipedOut() + " exam(s) with no slot left");
+        }
+    }
 
-            if (!roomsThatFit.isEmpty()) {
-                // Shuffle the list of suitable rooms to avoid 'first-fit' bias.
-                Collections.shuffle(roomsThatFit);
-                Room selectedRoom = roomsThatFit.get(0); // Pick the first from the shuffled list.
+    /**
+     * Construction pass run concurrently per connected component of the conflict graph.
+     * Components share no students, so each task only touches its own exams and students
+     * in the state; rooms are the one shared resource and are booked through
+     * {@link SchedulingState#reserveRooms}. The outcome depends on thread timing.
+     */
+    private void constructByComponents(SchedulingState state, int[][] components, int threads,
+                                       SlotDomains domains, Random runRandom, SolveControl control) {
+        if (trace.info) {
+            trace.info("Constructing " + components.length + " independent exam group(s) on " + threads + " thread(s)");
+        }
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int[] component : components) {
+            long seed = runRandom.nextLong();
+            tasks.add(() -> {
+                construct(state, component, domains, new Random(seed), control);
+                return null;
+            });
+        }
+        runConcurrently(tasks, threads, "component construction");
+    }
 
-                String sessionId = exam.getExamId() + "-S1";
-                ExamSession session = new ExamSession(sessionId, exam, timeSlot, selectedRoom);
-                System.out.println("  ✓ ASSIGNED to room: " + selectedRoom.getRoomId() + " (" + selectedRoom.getRoomName() + ")");
-                for (Student student : students) {
-                    session.assignStudent(student);
-                    student.assignExamSession(session);
+    private <T> List<T> runConcurrently(List<Callable<T>> tasks, int threads, String description) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during " + description, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scheduler " + description + " failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs {@code portfolioSize} independently seeded runs concurrently, each on its own
+     * copy of the template state, and returns the state of the best one: fewest
+     * unscheduled exams, then fewest back-to-back exams. Entities are not touched by any
+     * run, so they cannot interfere with each other.
+     */
+    private SchedulingState solvePortfolio(SchedulingState template, SolveControl control) {
+        List<Callable<SchedulingState>> runs = new ArrayList<>();
+        for (int run = 0; run < portfolioSize; run++) {
+            long seed = random.nextLong();
+            runs.add(() -> {
+                SchedulingState runState = new SchedulingState(template);
+                solve(runState, new Random(seed), control);
+                return runState;
+            });
+        }
+
+        int threads = Math.min(portfolioSize, Runtime.getRuntime().availableProcessors());
+        List<SchedulingState> results = runConcurrently(runs, threads, "portfolio run");
+        SchedulingState best = null;
+        int bestRun = -1;
+        for (int run = 0; run < results.size(); run++) {
+            SchedulingState candidate = results.get(run);
+            if (best == null || RUN_QUALITY.compare(candidate, best) < 0) {
+                best = candidate;
+                bestRun = run;
+            }
+        }
+        if (trace.info) {
+            trace.info("Portfolio run " + (bestRun + 1) + " of " + portfolioSize + " kept with "
+                    + best.getUnplacedCount() + " unscheduled exam(s)");
+        }
+        return best;
+    }
+
+    private boolean scheduleExam(int examIndex, SchedulingState state, SlotDomains domains, Random runRandom) {
+        int studentCount = state.getStudentCount(examIndex);
+        if (studentCount == 0) {
+            return false;
+        }
+        Exam exam = state.getConflictGraph().getExam(examIndex);
+        if (trace.debug) {
+            trace.debug("\nScheduling exam " + exam.getExamId() + " for " + studentCount + " students ("
+                    + domains.size(examIndex) + " slot(s) left in its domain)");
+        }
+
+        // The domain is exact for the exam's own component, but another component placed
+        // concurrently may have taken the free rooms of a slot since it was last pruned.
+        for (int slot = domains.nextSlot(examIndex, 0); slot >= 0; slot = domains.nextSlot(examIndex, slot + 1)) {
+            int[] rooms = state.getRoomOccupancy().canHost(slot, studentCount)
+                    ? state.reserveRooms(examIndex, slot, runRandom)
+                    : null;
+            if (rooms != null) {
+                lastStatistics.countEvaluated(1);
+                trace.examPlaced(exam, state.getSlotIndex().getSlot(slot), rooms.length);
+                return true;
+            }
+            lastStatistics.countRejection(SlotVerdict.INSUFFICIENT_CAPACITY);
+        }
+        trace.debug("  ✗ No feasible slot left in its domain");
+        return false;
+    }
+
+    private boolean placeExam(Exam exam, int currentMaxPerDay, SchedulingState state, int examIndex,
+                              Map<SlotVerdict, Integer> failureReasons, Random runRandom) {
+        int studentCount = state.getStudentCount(examIndex);
+        if (trace.debug) {
+            trace.debug("\nScheduling exam " + exam.getExamId() + " for " + studentCount + " students (current limit: "
+                    + currentMaxPerDay + " exams/day)");
+        }
+        SchedulerStatistics statistics = lastStatistics;
+        ObjIntConsumer<SlotVerdict> onRejected = trace.slots
+                ? (verdict, slot) -> {
+                    statistics.countRejection(verdict);
+                    trace.slotRejected(exam, state.getSlotIndex().getSlot(slot), verdict);
+                }
+                : (verdict, slot) -> statistics.countRejection(verdict);
+
+        while (true) {
+            int slot = slotEvaluator.findFirstFeasibleSlot(state, examIndex, studentCount, currentMaxPerDay,
+                    failureReasons, onRejected);
+            if (slot < 0) {
+                if (trace.debug) {
+                    trace.debug("  ✗ No feasible slot. Failures: " + failureReasons);
                 }
-                return List.of(session);
+                return false;
+            }
+
+            // The slot evaluator already checked that the free rooms can seat everyone; when
+            // components are placed concurrently another one may have taken them since, and
+            // the search simply runs again.
+            statistics.countEvaluated(1);
+            int[] rooms = state.reserveRooms(examIndex, slot, runRandom);
+            if (rooms != null) {
+                trace.examPlaced(exam, state.getSlotIndex().getSlot(slot), rooms.length);
+                return true;
+            }
+            failureReasons.clear();
+        }
+    }
+
+    /**
+     * Creates the ExamSession objects for the final assignment and links them to the
+     * exams and students. Exams without students get a note; exams still unscheduled are
+     * retried once more against the final state, then in up to {@code relaxationPasses}
+     * passes with the exams-per-day limit raised by one per pass, and get a scheduling
+     * note with the reasons when that fails too. Once {@code control} says to stop, the
+     * retries are skipped and the exams still unscheduled are noted as such.
+     */
+    private void materializeSessions(SchedulingState state, Schedule schedule, SolveControl control) {
+        long phaseStart = System.nanoTime();
+        ConflictGraph conflictGraph = state.getConflictGraph();
+        Map<Integer, Map<SlotVerdict, Integer>> failed = new LinkedHashMap<>();
+        for (int examIndex = 0; examIndex < state.getExamCount(); examIndex++) {
+            Exam exam = conflictGraph.getExam(examIndex);
+            if (state.getStudentCount(examIndex) == 0) {
+                schedule.addSchedulingNote("Skipped exam " + exam.getExamId() + ": No enrolled students.");
+                continue;
+            }
+            if (state.isPlaced(examIndex)) {
+                continue;
+            }
+            Map<SlotVerdict, Integer> failureReasons = new EnumMap<>(SlotVerdict.class);
+            if (control.shouldStop() || !placeExam(exam, maxExamsPerDay, state, examIndex, failureReasons, random)) {
+                failed.put(examIndex, failureReasons);
             }
+        }
 
-            // Step 4: If no single room is big enough, try to fit into multiple rooms.
-            // Sort rooms largest to smallest for efficient packing.
-            availableRoomsForSlot.sort(Comparator.comparingInt(Room::getCapacity).reversed());
-            long totalCapacity = availableRoomsForSlot.stream().mapToLong(Room::getCapacity).sum();
-            if (totalCapacity >= students.size()) {
-                List<ExamSession> sessions = new ArrayList<>();
-                List<Student> remainingStudents = new ArrayList<>(students);
-                int sessionIndex = 0;
+        relaxDailyLimit(state, schedule, failed, control);
 
-                for (Room room : availableRoomsForSlot) {
-                    if (remainingStudents.isEmpty()) break;
+        for (Map.Entry<Integer, Map<SlotVerdict, Integer>> failure : failed.entrySet()) {
+            Exam exam = conflictGraph.getExam(failure.getKey());
+            trace.examFailed(exam, failure.getValue());
+            if (failure.getValue().isEmpty() && control.shouldStop()) {
+                schedule.addSchedulingNote("Search stopped before exam " + exam.getExamId() + " could be scheduled.");
+            } else {
+                schedule.addSchedulingNote("Could not find a suitable time/room for exam " + exam.getExamId()
+                        + ". Failures: " + failure.getValue());
+            }
+        }
+        lastStatistics.countRoomsScanned(state.takeRoomsScanned());
+        phaseStart = endPhase(SchedulerStatistics.Phase.REPAIR, phaseStart);
 
-                    String sessionId = exam.getExamId() + "-S" + (++sessionIndex);
-                    ExamSession session = new ExamSession(sessionId, exam, timeSlot, room);
+        addSessions(state, schedule, true);
+        endPhase(SchedulerStatistics.Phase.SESSION_CREATION, phaseStart);
+    }
+
+    /**
+     * Relaxation passes: retries only the failed exams, with the exams-per-day limit one
+     * higher each pass, and keeps every placement made so far. Each relaxed placement is
+     * recorded with the students it over-books, and the schedule's exams-per-day
+     * constraint is raised to the highest limit used, as if it had been set by hand.
+     * Exams placed are removed from {@code failed}; the others keep their last reasons.
+     * No further exam is tried once {@code control} says to stop.
+     */
+    private void relaxDailyLimit(SchedulingState state, Schedule schedule, Map<Integer, Map<SlotVerdict, Integer>> failed,
+                                 SolveControl control) {
+        lastRelaxedPlacements = new ArrayList<>();
+        int highestLimit = maxExamsPerDay;
+        for (int pass = 1; pass <= relaxationPasses && !failed.isEmpty() && !control.shouldStop(); pass++) {
+            int limit = maxExamsPerDay + pass;
+            if (trace.info) {
+                trace.info("Relaxation pass " + pass + " with " + limit + " exams/day for "
+                        + failed.size() + " exam(s)");
+            }
+            for (Map.Entry<Integer, Map<SlotVerdict, Integer>> failure : new ArrayList<>(failed.entrySet())) {
+                if (control.shouldStop()) {
+                    break;
+                }
+                int examIndex = failure.getKey();
+                Exam exam = state.getConflictGraph().getExam(examIndex);
+                Map<SlotVerdict, Integer> failureReasons = new EnumMap<>(SlotVerdict.class);
+                if (!placeExam(exam, limit, state, examIndex, failureReasons, random)) {
+                    failure.setValue(failureReasons);
+                    continue;
+                }
+                failed.remove(examIndex);
+                highestLimit = limit;
 
-                    List<Student> studentsToAssign = new ArrayList<>(remainingStudents.subList(0, Math.min(remainingStudents.size(), room.getCapacity())));
-                    for (Student student : studentsToAssign) {
-                        session.assignStudent(student);
-                        student.assignExamSession(session);
+                int day = state.getSlotIndex().getDay(state.getExamSlot(examIndex));
+                List<Student> overbooked = new ArrayList<>();
+                for (int p = 0; p < state.getStudentCount(examIndex); p++) {
+                    int student = state.getStudent(examIndex, p);
+                    if (day >= 0 && state.getStudentOccupancy().getDailyCount(student, day) > maxExamsPerDay) {
+                        overbooked.add(state.getStudentOccupancy().getStudent(student));
                     }
+                }
+                LocalDate date = day >= 0 ? state.getSlotIndex().getDate(day) : null;
+                lastRelaxedPlacements.add(new RelaxedPlacement(pass, limit, exam, date, overbooked));
+                schedule.addSchedulingNote(String.format("RELAXED: Exam %s placed on %s in pass %d with %d exams/day; "
+                        + "%d student(s) over the limit of %d", exam.getExamId(), date, pass, limit,
+                        overbooked.size(), maxExamsPerDay));
+            }
+        }
 
-                    remainingStudents.removeAll(studentsToAssign);
-                    sessions.add(session);
+        if (highestLimit > maxExamsPerDay) {
+            for (Constraint constraint : schedule.getConstraints()) {
+                if (constraint instanceof MaxExamsPerDayConstraint
+                        && ((MaxExamsPerDayConstraint) constraint).getMaxExamsPerDay() == maxExamsPerDay) {
+                    ((MaxExamsPerDayConstraint) constraint).setMaxExamsPerDay(highestLimit);
                 }
-                return sessions;
-            } else {
-                failureReasons.merge("INSUFFICIENT_CAPACITY", 1, Integer::sum);
             }
         }
+    }
 
-        // If loop finishes, scheduling failed for this exam. Log detailed reason.
-        String reason = "Could not find a suitable time/room for exam " + exam.getExamId() + ". Failures: " + failureReasons;
-        System.out.println("  ✗ FAILED: " + reason);
-        schedule.addSchedulingNote(reason);
-        return new ArrayList<>();
+    /**
+     * Adds one ExamSession per room of every placed exam, splitting the students across
+     * the rooms. With {@code linkEntities} the sessions are also registered on their exams
+     * and students; without it the entities are left untouched.
+     */
+    private void addSessions(SchedulingState state, Schedule schedule, boolean linkEntities) {
+        for (int examIndex = 0; examIndex < state.getExamCount(); examIndex++) {
+            if (state.isPlaced(examIndex)) {
+                addExamSessions(state, examIndex, schedule, linkEntities);
+            }
+        }
     }
 
-    private boolean hasConsecutiveExam(Student student, ExamSession newSession) {
-        if (student == null || newSession == null || newSession.getTimeSlot() == null) {
-            return false;
+    private void addExamSessions(SchedulingState state, int examIndex, Schedule schedule, boolean linkEntities) {
+        StudentOccupancy studentOccupancy = state.getStudentOccupancy();
+        RoomOccupancy roomOccupancy = state.getRoomOccupancy();
+        Exam exam = state.getConflictGraph().getExam(examIndex);
+        TimeSlot timeSlot = state.getSlotIndex().getSlot(state.getExamSlot(examIndex));
+        int[] rooms = state.getExamRooms(examIndex);
+        int studentCount = state.getStudentCount(examIndex);
+
+        // Split students across the rooms by consecutive index ranges.
+        int next = 0;
+        for (int i = 0; i < rooms.length; i++) {
+            Room room = roomOccupancy.getRoom(rooms[i]);
+            ExamSession session = new ExamSession(exam.getExamId() + "-S" + (i + 1), exam, timeSlot, room);
+            int end = Math.min(studentCount, next + room.getCapacity());
+            for (; next < end; next++) {
+                Student student = studentOccupancy.getStudent(state.getStudent(examIndex, next));
+                session.assignStudent(student);
+                if (linkEntities) {
+                    student.assignExamSession(session);
+                }
+            }
+            if (linkEntities) {
+                exam.addExamSession(session);
+                lastStatistics.countSessionsCreated(1);
+            }
+            schedule.addExamSession(session);
         }
+    }
 
-        for (ExamSession existingSession : student.getAssignedSessions()) {
-            if (existingSession.getTimeSlot() == null) {
-                continue;
+    /**
+     * Re-places only the given exams in an existing schedule instead of regenerating it.
+     *
+     * Sessions of the affected exams are removed, together with any session whose room or
+     * time slot is no longer available to this scheduler or that clashes with a student's
+     * other exam, and those exams are placed again around everyone else's sessions. Each
+     * goes back to its old slot when that still works, keeping the rooms it had there.
+     * Otherwise it takes the first feasible slot, or may move at most
+     * {@link #getMaxRepairMoves()} other exams out of the way. Exams that still cannot be
+     * placed get a scheduling note. Returns the exams whose sessions changed.
+     */
+    public List<Exam> rescheduleExams(Schedule schedule, Collection<Exam> affectedExams) {
+        if (schedule == null) {
+            return new ArrayList<>();
+        }
+        lastStatistics = new SchedulerStatistics();
+        long phaseStart = System.nanoTime();
+
+        Map<Exam, List<ExamSession>> sessionsByExam = new LinkedHashMap<>();
+        for (ExamSession session : schedule.getExamSessions()) {
+            if (session.getExam() != null) {
+                sessionsByExam.computeIfAbsent(session.getExam(), exam -> new ArrayList<>()).add(session);
             }
-            if (!newSession.getTimeSlot().getDate().equals(existingSession.getTimeSlot().getDate())) {
-                continue;
+        }
+        Set<Exam> affected = new LinkedHashSet<>();
+        if (affectedExams != null) {
+            for (Exam exam : affectedExams) {
+                if (exam != null) {
+                    affected.add(exam);
+                }
             }
-            if (newSession.getTimeSlot().getStartTime().equals(existingSession.getTimeSlot().getEndTime()) ||
-                newSession.getTimeSlot().getEndTime().equals(existingSession.getTimeSlot().getStartTime())) {
-                return true;
+        }
+        List<Exam> examList = new ArrayList<>(sessionsByExam.keySet());
+        for (Exam exam : affected) {
+            if (!sessionsByExam.containsKey(exam)) {
+                examList.add(exam);
             }
         }
 
-        return false;
-    }
+        SchedulingState state = new SchedulingState(new ProblemInstance(examList, availableTimeSlots, availableRooms),
+                minimumGapMinutes);
+        ConflictGraph conflictGraph = state.getConflictGraph();
 
+        // Load the sessions that stay; anything that no longer maps onto the available
+        // rooms and slots, clashes with an exam loaded before it, or no longer has students,
+        // has to be re-placed as well. The old slot and the rooms still available there
+        // are remembered for each exam to re-place.
+        int[] previousSlots = new int[state.getExamCount()];
+        int[][] previousRooms = new int[state.getExamCount()][];
+        for (int examIndex = 0; examIndex < state.getExamCount(); examIndex++) {
+            Exam exam = conflictGraph.getExam(examIndex);
+            List<ExamSession> sessions = sessionsByExam.get(exam);
+            previousSlots[examIndex] = -1;
+            if (sessions == null) {
+                continue;
+            }
+            int slot = state.getSlotIndex().indexOf(sessions.get(0).getTimeSlot());
+            List<Integer> rooms = new ArrayList<>();
+            boolean valid = slot >= 0 && state.getStudentCount(examIndex) > 0;
+            for (ExamSession session : sessions) {
+                int room = state.getRoomOccupancy().indexOf(session.getRoom());
+                boolean sameSlot = state.getSlotIndex().indexOf(session.getTimeSlot()) == slot;
+                if (room >= 0 && sameSlot) {
+                    rooms.add(room);
+                } else {
+                    valid = false;
+                }
+            }
+            int[] roomArray = rooms.stream().mapToInt(Integer::intValue).toArray();
+            if (valid && !affected.contains(exam) && !state.hasNeighbourConflict(examIndex, slot)) {
+                state.place(examIndex, slot, roomArray);
+            } else {
+                affected.add(exam);
+                previousSlots[examIndex] = slot;
+                previousRooms[examIndex] = roomArray;
+            }
+        }
 
-    private boolean isRoomAvailable(Room room, TimeSlot timeSlot, List<ExamSession> pendingSessions, Schedule schedule) {
-        if (room == null || timeSlot == null) {
-            return false;
+        List<Integer> toPlace = new ArrayList<>();
+        for (int examIndex = 0; examIndex < state.getExamCount(); examIndex++) {
+            if (affected.contains(conflictGraph.getExam(examIndex))) {
+                toPlace.add(examIndex);
+            }
         }
+        toPlace.sort(Comparator.comparingInt((Integer examIndex) -> state.getStudentCount(examIndex)).reversed());
+        phaseStart = endPhase(SchedulerStatistics.Phase.MODEL_BUILD, phaseStart);
 
-        for (ExamSession session : pendingSessions) {
-            if (session.getRoom() != null &&
-                session.getRoom().equals(room) &&
-                session.getTimeSlot() != null &&
-                session.getTimeSlot().overlaps(timeSlot)) {
-                return false;
+        ExamRepair repair = new ExamRepair(state, slotEvaluator, maxExamsPerDay, random, maxRepairMoves);
+        for (int examIndex : toPlace) {
+            Exam exam = conflictGraph.getExam(examIndex);
+            if (state.getStudentCount(examIndex) == 0) {
+                schedule.addSchedulingNote("Skipped exam " + exam.getExamId() + ": No enrolled students.");
+                continue;
+            }
+            Map<SlotVerdict, Integer> failureReasons = new EnumMap<>(SlotVerdict.class);
+            if (!placeInPreviousSlot(state, examIndex, previousSlots[examIndex], previousRooms[examIndex])
+                    && !placeExam(exam, maxExamsPerDay, state, examIndex, failureReasons, random)
+                    && !repair.repair(examIndex)) {
+                trace.examFailed(exam, failureReasons);
+                schedule.addSchedulingNote("Could not find a suitable time/room for exam " + exam.getExamId()
+                        + ". Failures: " + failureReasons);
             }
         }
 
-        if (schedule != null) {
-            for (ExamSession session : schedule.getExamSessions()) {
-                if (session.getRoom() != null &&
-                    session.getRoom().equals(room) &&
-                    session.getTimeSlot() != null &&
-                    session.getTimeSlot().overlaps(timeSlot)) {
-                    return false;
+        lastStatistics.countRoomsScanned(state.takeRoomsScanned());
+        phaseStart = endPhase(SchedulerStatistics.Phase.REPAIR, phaseStart);
+
+        Set<Integer> changed = new LinkedHashSet<>(toPlace);
+        changed.addAll(repair.getMovedExams());
+        List<Exam> changedExams = new ArrayList<>();
+        for (int examIndex : changed) {
+            Exam exam = conflictGraph.getExam(examIndex);
+            List<ExamSession> oldSessions = sessionsByExam.get(exam);
+            if (oldSessions != null) {
+                for (ExamSession session : oldSessions) {
+                    removeSession(schedule, session);
                 }
             }
+            if (state.isPlaced(examIndex)) {
+                addExamSessions(state, examIndex, schedule, true);
+            }
+            changedExams.add(exam);
+        }
+        endPhase(SchedulerStatistics.Phase.SESSION_CREATION, phaseStart);
+        if (trace.info) {
+            trace.info("Rescheduled " + toPlace.size() + " exam(s), " + repair.getMovedExams().size()
+                    + " other exam(s) moved");
         }
+        return changedExams;
+    }
 
+    /**
+     * Puts an exam back in the slot it had, in the rooms it had there that are still free
+     * and, only for the students they no longer seat, in rooms chosen as usual. Returns
+     * false and leaves the state unchanged when the slot is no longer feasible.
+     */
+    private boolean placeInPreviousSlot(SchedulingState state, int examIndex, int slot, int[] rooms) {
+        int studentCount = state.getStudentCount(examIndex);
+        if (slot < 0 || SlotEvaluator.evaluate(state, examIndex, slot, studentCount, maxExamsPerDay)
+                != SlotVerdict.FEASIBLE) {
+            return false;
+        }
+        RoomOccupancy roomOccupancy = state.getRoomOccupancy();
+        List<Integer> chosen = new ArrayList<>();
+        int seated = 0;
+        for (int room : rooms) {
+            if (seated < studentCount && roomOccupancy.isAvailable(room, slot)) {
+                chosen.add(room);
+                seated += roomOccupancy.getCapacity(room);
+            }
+        }
+        if (seated < studentCount) {
+            // Book the kept rooms for a moment so the extra rooms are chosen among the others.
+            for (int room : chosen) {
+                roomOccupancy.occupy(room, slot);
+            }
+            int[] extra = state.chooseRooms(slot, studentCount - seated, random);
+            for (int room : chosen) {
+                roomOccupancy.release(room, slot);
+            }
+            if (extra == null) {
+                return false;
+            }
+            for (int room : extra) {
+                chosen.add(room);
+            }
+        }
+        state.place(examIndex, slot, chosen.stream().mapToInt(Integer::intValue).toArray());
         return true;
     }
 
+    private void removeSession(Schedule schedule, ExamSession session) {
+        schedule.removeExamSession(session);
+        if (session.getExam() != null) {
+            session.getExam().removeExamSession(session);
+        }
+        for (Student student : session.getAssignedStudents()) {
+            student.removeExamSession(session);
+        }
+    }
+
+    /**
+     * Deadline, cancellation and snapshot publishing shared by the runs of one generation.
+     */
+    private class SolveControl {
+        private final long deadlineNanos;
+        private final CancellationToken cancellationToken;
+        private final Consumer<Schedule> onImprovement;
+        private long publishedCost = Long.MAX_VALUE;
+        private long lastPublishNanos;
 
-    private void attemptToResolveViolations(Schedule schedule, List<String> violations) {
-        System.err.println("Schedule has " + violations.size() + " violations:");
-        for (String violation : violations) {
-            System.err.println("  - " + violation);
+        SolveControl(Duration timeBudget, CancellationToken cancellationToken, Consumer<Schedule> onImprovement) {
+            this.deadlineNanos = timeBudget != null ? System.nanoTime() + timeBudget.toNanos() : Long.MAX_VALUE;
+            this.cancellationToken = cancellationToken;
+            this.onImprovement = onImprovement;
+        }
+
+        boolean shouldStop() {
+            return (cancellationToken != null && cancellationToken.isCancelled())
+                    || (deadlineNanos != Long.MAX_VALUE && System.nanoTime() >= deadlineNanos);
+        }
+
+        /**
+         * When an improvement phase that started at {@code improvementStart} has to end:
+         * the deadline when there is one, else one improvement time budget later.
+         */
+        long getImprovementDeadline(long improvementStart) {
+            if (deadlineNanos != Long.MAX_VALUE) {
+                return deadlineNanos;
+            }
+            return improvementStart + improvementTimeBudgetMillis * 1_000_000L;
+        }
+
+        long getImprovementBudgetMillis() {
+            if (deadlineNanos == Long.MAX_VALUE) {
+                return improvementTimeBudgetMillis;
+            }
+            return Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000L);
+        }
+
+        /**
+         * Publishes the state as a snapshot when it beats everything published so far
+         * and the last snapshot is old enough.
+         */
+        synchronized void offer(SchedulingState state, long cost) {
+            if (onImprovement == null || cost >= publishedCost) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (publishedCost != Long.MAX_VALUE && now - lastPublishNanos < SNAPSHOT_INTERVAL_NANOS) {
+                return;
+            }
+            publishedCost = cost;
+            lastPublishNanos = now;
+            Schedule snapshot = newSchedule();
+            addSessions(state, snapshot, false);
+            onImprovement.accept(snapshot);
+        }
+    }
+
+    /**
+     * Traces the number of violations per type; the messages themselves are only formatted
+     * for a DEBUG trace.
+     */
+    private void reportViolations(List<Violation> violations) {
+        if (!trace.info) {
+            return;
+        }
+        Map<Violation.Type, Integer> counts = new EnumMap<>(Violation.Type.class);
+        for (Violation violation : violations) {
+            counts.merge(violation.type(), 1, Integer::sum);
+        }
+        trace.info("Schedule has " + violations.size() + " violations: " + counts);
+        if (trace.debug) {
+            for (Violation violation : violations) {
+                trace.debug("  - " + violation.getMessage());
+            }
         }
     }
 
@@ -317,6 +1020,215 @@ public class Scheduler {
         this.maxExamsPerDay = maxExamsPerDay;
     }
 
+    public int getMinimumGapMinutes() {
+        return minimumGapMinutes;
+    }
+
+    /**
+     * Rest time a student needs between two exams on the same day. Exams closer than that,
+     * or back to back, are consecutive: the improvement phase avoids them and
+     * {@link NoConsecutiveExamsConstraint} reports them. Defaults to 0 (back to back only).
+     */
+    public void setMinimumGapMinutes(int minimumGapMinutes) {
+        this.minimumGapMinutes = Math.max(0, minimumGapMinutes);
+    }
+
+    public SchedulingStrategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(SchedulingStrategy strategy) {
+        this.strategy = strategy != null ? strategy : SchedulingStrategy.LARGEST_ENROLLMENT_FIRST;
+    }
+
+    public int getPortfolioSize() {
+        return portfolioSize;
+    }
+
+    /**
+     * Number of independently seeded runs to race against each other; the best schedule
+     * is kept. 1 (the default) runs the scheduler once on the calling thread.
+     */
+    public void setPortfolioSize(int portfolioSize) {
+        this.portfolioSize = Math.max(1, portfolioSize);
+    }
+
+    /**
+     * Seeds the scheduler's random choices, including the seeds handed to portfolio runs.
+     * Runs are then repeatable except for how far the time-bounded improvement phase gets.
+     */
+    public void setRandomSeed(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Lower-bound analysis of the last {@link #generateSchedule} call, or null before the
+     * first one.
+     */
+    public FeasibilityReport getLastFeasibilityReport() {
+        return lastFeasibilityReport;
+    }
+
+    /**
+     * Soft-constraint cost of the last generated schedule, or null when none was generated.
+     */
+    public SchedulePenalty getLastPenalty() {
+        return lastPenalty;
+    }
+
+    /**
+     * Timings and counters of the last {@link #generateSchedule} or {@link #rescheduleExams}
+     * call, or null before the first one.
+     */
+    public SchedulerStatistics getLastStatistics() {
+        return lastStatistics;
+    }
+
+    /**
+     * Sends trace events up to {@code level} to the listener; a null listener or
+     * {@link TraceLevel#OFF} (the default) disables tracing.
+     */
+    public void setTraceListener(SchedulerTraceListener listener, TraceLevel level) {
+        this.trace = new Trace(listener, level);
+    }
+
+    public int getRelaxationPasses() {
+        return relaxationPasses;
+    }
+
+    /**
+     * Number of passes that retry the exams still unscheduled with the exams-per-day limit
+     * raised by one, two, ... Zero (the default) keeps the limit strict.
+     */
+    public void setRelaxationPasses(int relaxationPasses) {
+        this.relaxationPasses = Math.max(0, relaxationPasses);
+    }
+
+    /**
+     * Exams the last run could only place by relaxing the exams-per-day limit.
+     */
+    public List<RelaxedPlacement> getLastRelaxedPlacements() {
+        return new ArrayList<>(lastRelaxedPlacements);
+    }
+
+    public PenaltyWeights getPenaltyWeights() {
+        return penaltyWeights;
+    }
+
+    /**
+     * Weights of the soft-constraint penalty the penalty pass lowers and
+     * {@link #getLastPenalty()} reports.
+     */
+    public void setPenaltyWeights(PenaltyWeights penaltyWeights) {
+        this.penaltyWeights = penaltyWeights != null ? penaltyWeights : new PenaltyWeights();
+    }
+
+    public boolean isStopWhenInfeasible() {
+        return stopWhenInfeasible;
+    }
+
+    /**
+     * When enabled, generation stops before searching if a lower bound proves that not
+     * every exam can be placed; the returned schedule then has no sessions and one
+     * "PROVABLY INFEASIBLE" note per failed bound. When disabled (the default) the search
+     * still runs and places as many exams as it can; the failed bounds are only reported
+     * through {@link #getLastFeasibilityReport()}.
+     */
+    public void setStopWhenInfeasible(boolean stopWhenInfeasible) {
+        this.stopWhenInfeasible = stopWhenInfeasible;
+    }
+
+    public boolean isComponentDecomposition() {
+        return componentDecomposition;
+    }
+
+    /**
+     * When enabled (the default) and the conflict graph falls apart into groups of exams
+     * that share no students, the construction pass schedules the groups concurrently.
+     * Has no effect on a single processor.
+     */
+    public void setComponentDecomposition(boolean componentDecomposition) {
+        this.componentDecomposition = componentDecomposition;
+    }
+
+    public boolean isParallelSlotEvaluation() {
+        return slotEvaluationPool != null;
+    }
+
+    /**
+     * Evaluates candidate time slots concurrently on the common fork/join pool: the
+     * initial slot domains of the construction pass and the slots of each exam retried
+     * afterwards. The chosen slot is the same as in sequential mode.
+     */
+    public void setParallelSlotEvaluation(boolean parallel) {
+        setSlotEvaluationPool(parallel ? ForkJoinPool.commonPool() : null);
+    }
+
+    public ForkJoinPool getSlotEvaluationPool() {
+        return slotEvaluationPool;
+    }
+
+    public void setSlotEvaluationPool(ForkJoinPool slotEvaluationPool) {
+        this.slotEvaluationPool = slotEvaluationPool;
+        this.slotEvaluator = new SlotEvaluator(slotEvaluationPool);
+    }
+
+    public long getImprovementTimeBudgetMillis() {
+        return improvementTimeBudgetMillis;
+    }
+
+    /**
+     * Wall-clock budget of the improvement phase, simulated annealing and then the penalty
+     * pass; 0 disables both. Defaults to 500 ms. Annealing ends sooner once a whole cooling
+     * cycle finds no better schedule, and the penalty pass gets the time left.
+     */
+    public void setImprovementTimeBudgetMillis(long improvementTimeBudgetMillis) {
+        this.improvementTimeBudgetMillis = Math.max(0, improvementTimeBudgetMillis);
+    }
+
+    public double getAnnealingInitialTemperature() {
+        return annealingInitialTemperature;
+    }
+
+    public void setAnnealingInitialTemperature(double annealingInitialTemperature) {
+        this.annealingInitialTemperature = annealingInitialTemperature;
+    }
+
+    public double getAnnealingCoolingRate() {
+        return annealingCoolingRate;
+    }
+
+    /**
+     * Factor the temperature is multiplied by every 1000 moves, in (0, 1).
+     */
+    public void setAnnealingCoolingRate(double annealingCoolingRate) {
+        this.annealingCoolingRate = annealingCoolingRate;
+    }
+
+    public int getMaxRepairMoves() {
+        return maxRepairMoves;
+    }
+
+    /**
+     * How many already scheduled exams {@link #rescheduleExams} may move to make room for
+     * one affected exam; 0 only places affected exams where they fit directly.
+     */
+    public void setMaxRepairMoves(int maxRepairMoves) {
+        this.maxRepairMoves = Math.max(0, maxRepairMoves);
+    }
+
+    public long getBranchAndBoundNodeLimit() {
+        return branchAndBoundNodeLimit;
+    }
+
+    /**
+     * Search nodes the branch and bound may visit per exam group in thorough mode before it
+     * stops and keeps the best schedule found. The improvement time budget also applies.
+     */
+    public void setBranchAndBoundNodeLimit(long branchAndBoundNodeLimit) {
+        this.branchAndBoundNodeLimit = Math.max(1, branchAndBoundNodeLimit);
+    }
+
     public void addConstraint(Constraint constraint) {
         if (constraint != null && !customConstraints.contains(constraint)) {
             customConstraints.add(constraint);
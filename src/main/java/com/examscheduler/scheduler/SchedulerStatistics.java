@@ -0,0 +1,180 @@
+package com.examscheduler.scheduler;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime figures of one {@link Scheduler} run, to see where the time goes.
+ *
+ * Phase times are wall time; phases that run on several threads at once (component
+ * construction, portfolio runs) report the sum over the threads. Counters may be updated
+ * concurrently.
+ */
+public class SchedulerStatistics {
+
+    public enum Phase {
+        /** Building the exam list, problem instance, conflict graph and indexes. */
+        MODEL_BUILD,
+        /** Lower-bound checks before the search. */
+        FEASIBILITY,
+        /** Slot domains and component decomposition that drive the exam order. */
+        ORDERING,
+        /** Construction pass. */
+        PLACEMENT,
+        /** Simulated annealing, branch and bound and the penalty pass. */
+        IMPROVEMENT,
+        /** Final retries, relaxation passes and incremental rescheduling. */
+        REPAIR,
+        /** Creating and linking the exam sessions. */
+        SESSION_CREATION,
+        /** Validating the schedule against its constraints and computing its penalty. */
+        VALIDATION
+    }
+
+    private final Map<Phase, Long> phaseNanos = new EnumMap<>(Phase.class);
+    private final LongAdder slotsEvaluated = new LongAdder();
+    private final LongAdder[] rejections = new LongAdder[SlotVerdict.values().length];
+    private final LongAdder roomsScanned = new LongAdder();
+    private final LongAdder sessionsCreated = new LongAdder();
+    private final LongAdder improvementSteps = new LongAdder();
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+
+    SchedulerStatistics() {
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
+        sampleHeap();
+    }
+
+    synchronized void addPhaseTime(Phase phase, long nanos) {
+        phaseNanos.merge(phase, nanos, Long::sum);
+        sampleHeap();
+    }
+
+    void countEvaluated(long slots) {
+        slotsEvaluated.add(slots);
+    }
+
+    void countRejection(SlotVerdict verdict) {
+        slotsEvaluated.increment();
+        rejections[verdict.ordinal()].increment();
+    }
+
+    /**
+     * Adds a batch of evaluations, indexed by {@link SlotVerdict} ordinal.
+     */
+    void countVerdicts(long[] verdictCounts) {
+        for (SlotVerdict verdict : SlotVerdict.values()) {
+            long count = verdictCounts[verdict.ordinal()];
+            slotsEvaluated.add(count);
+            if (verdict != SlotVerdict.FEASIBLE) {
+                rejections[verdict.ordinal()].add(count);
+            }
+        }
+    }
+
+    void countRoomsScanned(long rooms) {
+        roomsScanned.add(rooms);
+    }
+
+    void countSessionsCreated(long sessions) {
+        sessionsCreated.add(sessions);
+    }
+
+    void countImprovementSteps(long steps) {
+        improvementSteps.add(steps);
+    }
+
+    void sampleHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        peakHeapBytes.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+    }
+
+    public synchronized Duration getPhaseTime(Phase phase) {
+        return Duration.ofNanos(phaseNanos.getOrDefault(phase, 0L));
+    }
+
+    public synchronized Map<Phase, Duration> getPhaseTimes() {
+        Map<Phase, Duration> times = new EnumMap<>(Phase.class);
+        for (Map.Entry<Phase, Long> entry : phaseNanos.entrySet()) {
+            times.put(entry.getKey(), Duration.ofNanos(entry.getValue()));
+        }
+        return times;
+    }
+
+    public synchronized Duration getTotalTime() {
+        long total = 0;
+        for (long nanos : phaseNanos.values()) {
+            total += nanos;
+        }
+        return Duration.ofNanos(total);
+    }
+
+    /**
+     * Candidate slots checked for an exam while placing it, feasible or not.
+     */
+    public long getSlotsEvaluated() {
+        return slotsEvaluated.sum();
+    }
+
+    /**
+     * Rejected candidate slots per reason.
+     */
+    public Map<SlotVerdict, Long> getRejections() {
+        Map<SlotVerdict, Long> counts = new EnumMap<>(SlotVerdict.class);
+        for (SlotVerdict verdict : SlotVerdict.values()) {
+            if (verdict != SlotVerdict.FEASIBLE && rejections[verdict.ordinal()].sum() > 0) {
+                counts.put(verdict, rejections[verdict.ordinal()].sum());
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Room entries read while choosing rooms.
+     */
+    public long getRoomsScanned() {
+        return roomsScanned.sum();
+    }
+
+    public long getSessionsCreated() {
+        return sessionsCreated.sum();
+    }
+
+    /**
+     * Annealing moves plus branch-and-bound nodes.
+     */
+    public long getImprovementSteps() {
+        return improvementSteps.sum();
+    }
+
+    /**
+     * Largest used heap seen at the end of a phase.
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder phases = new StringBuilder();
+        for (Map.Entry<Phase, Duration> entry : getPhaseTimes().entrySet()) {
+            if (phases.length() > 0) {
+                phases.append(", ");
+            }
+            phases.append(entry.getKey()).append('=').append(entry.getValue().toMillis()).append("ms");
+        }
+        return "SchedulerStatistics{" +
+                "phases={" + phases + '}' +
+                ", slotsEvaluated=" + getSlotsEvaluated() +
+                ", rejections=" + getRejections() +
+                ", roomsScanned=" + getRoomsScanned() +
+                ", sessionsCreated=" + getSessionsCreated() +
+                ", improvementSteps=" + getImprovementSteps() +
+                ", peakHeapMB=" + getPeakHeapBytes() / (1024 * 1024) +
+                '}';
+    }
+}
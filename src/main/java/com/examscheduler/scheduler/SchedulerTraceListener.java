@@ -0,0 +1,39 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.entity.Exam;
+import com.examscheduler.entity.TimeSlot;
+
+import java.util.Map;
+
+/**
+ * Receives trace events from a {@link Scheduler} run, filtered by the {@link TraceLevel}
+ * the listener was registered with. Component groups and portfolio runs are solved on
+ * several threads, so implementations must be thread-safe.
+ */
+public interface SchedulerTraceListener {
+
+    /**
+     * Free-form progress message at the given level.
+     */
+    default void onMessage(TraceLevel level, String message) {
+    }
+
+    /**
+     * A candidate slot was rejected for the exam ({@link TraceLevel#TRACE}).
+     */
+    default void onSlotRejected(Exam exam, TimeSlot slot, SlotVerdict reason) {
+    }
+
+    /**
+     * The exam was placed in the slot across {@code roomCount} rooms ({@link TraceLevel#DEBUG}).
+     */
+    default void onExamPlaced(Exam exam, TimeSlot slot, int roomCount) {
+    }
+
+    /**
+     * The exam is left unscheduled by the run; {@code reasons} counts the rejected slots per
+     * reason in the last attempt ({@link TraceLevel#INFO}).
+     */
+    default void onExamFailed(Exam exam, Map<SlotVerdict, Integer> reasons) {
+    }
+}
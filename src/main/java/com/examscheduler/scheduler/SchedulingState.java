@@ -0,0 +1,375 @@
+package com.examscheduler.scheduler;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Assignment state of a single scheduling run: which slot and rooms every exam was
+ * placed in and the occupancy indexes derived from that. Exams, students, slots and
+ * rooms are addressed by their {@link ProblemInstance} ordinals.
+ *
+ * Nothing here touches the entities; sessions are only created from the final state.
+ */
+class SchedulingState {
+    private static final int[] NO_ROOMS = new int[0];
+    private static final int EXACT_SPLIT_NODE_LIMIT = 20_000;
+
+    private final ProblemInstance problem;
+    private final ConflictGraph conflictGraph;
+    private final TimeSlotIndex slotIndex;
+    private final StudentOccupancy studentOccupancy;
+    private final RoomOccupancy roomOccupancy;
+    private final int[] examSlots;
+    private final int[][] examRooms;
+    private final int[] roomBuffer;
+    private long roomsScanned;
+
+    SchedulingState(ProblemInstance problem) {
+        this(problem, 0);
+    }
+
+    /**
+     * @param minimumGapMinutes rest time below which exams of a student count as
+     *                          consecutive (see {@link TimeSlotIndex})
+     */
+    SchedulingState(ProblemInstance problem, int minimumGapMinutes) {
+        this.problem = problem;
+        this.conflictGraph = new ConflictGraph(problem);
+        this.slotIndex = new TimeSlotIndex(problem, minimumGapMinutes);
+        this.roomOccupancy = new RoomOccupancy(problem, slotIndex);
+        this.studentOccupancy = new StudentOccupancy(problem, slotIndex);
+        this.roomBuffer = new int[roomOccupancy.size()];
+        this.examSlots = new int[conflictGraph.size()];
+        Arrays.fill(examSlots, -1);
+        this.examRooms = new int[conflictGraph.size()][];
+    }
+
+    /**
+     * Independent copy of another run's state. The problem instance, conflict graph and
+     * slot index never change after construction and are shared; the assignment and
+     * occupancy indexes are copied, so several runs can work from one template concurrently.
+     */
+    SchedulingState(SchedulingState other) {
+        this.problem = other.problem;
+        this.conflictGraph = other.conflictGraph;
+        this.slotIndex = other.slotIndex;
+        this.studentOccupancy = new StudentOccupancy(other.studentOccupancy);
+        this.roomOccupancy = new RoomOccupancy(other.roomOccupancy);
+        this.examSlots = other.examSlots.clone();
+        this.examRooms = other.examRooms.clone();
+        this.roomBuffer = new int[roomOccupancy.size()];
+    }
+
+    ProblemInstance getProblem() {
+        return problem;
+    }
+
+    ConflictGraph getConflictGraph() {
+        return conflictGraph;
+    }
+
+    TimeSlotIndex getSlotIndex() {
+        return slotIndex;
+    }
+
+    StudentOccupancy getStudentOccupancy() {
+        return studentOccupancy;
+    }
+
+    RoomOccupancy getRoomOccupancy() {
+        return roomOccupancy;
+    }
+
+    int getExamCount() {
+        return examSlots.length;
+    }
+
+    int getStudentCount(int exam) {
+        return problem.getEnrollmentCount(exam);
+    }
+
+    int getStudent(int exam, int position) {
+        return problem.getExamStudent(exam, position);
+    }
+
+    int getExamSlot(int exam) {
+        return examSlots[exam];
+    }
+
+    boolean isPlaced(int exam) {
+        return examSlots[exam] >= 0;
+    }
+
+    int getPlacedCount() {
+        int placed = 0;
+        for (int slot : examSlots) {
+            if (slot >= 0) {
+                placed++;
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * Exams with enrolled students that are not placed.
+     */
+    int getUnplacedCount() {
+        int unplaced = 0;
+        for (int exam = 0; exam < examSlots.length; exam++) {
+            if (examSlots[exam] < 0 && problem.getEnrollmentCount(exam) > 0) {
+                unplaced++;
+            }
+        }
+        return unplaced;
+    }
+
+    /**
+     * Back-to-back exam pairs over all students.
+     */
+    long countConsecutivePairs() {
+        long pairs = 0;
+        for (int student = 0; student < studentOccupancy.size(); student++) {
+            pairs += studentOccupancy.countConsecutivePairs(student);
+        }
+        return pairs;
+    }
+
+    /**
+     * Upper bound on {@link #countConsecutivePairs()}: every two exams of a student back
+     * to back. Depends on the enrollments only, so it is the same for every run.
+     */
+    long maxConsecutivePairs() {
+        long pairs = 0;
+        for (int student = 0; student < problem.getStudentCount(); student++) {
+            long exams = problem.getStudentExamCount(student);
+            pairs += exams * (exams - 1) / 2;
+        }
+        return pairs;
+    }
+
+    /**
+     * True when a neighbouring exam is already placed in a slot overlapping the given one.
+     */
+    boolean hasNeighbourConflict(int exam, int slot) {
+        for (int k = 0; k < conflictGraph.getDegree(exam); k++) {
+            int neighbourSlot = examSlots[conflictGraph.getNeighbour(exam, k)];
+            if (neighbourSlot >= 0 && slotIndex.overlaps(neighbourSlot, slot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True when any student of the exam already has {@code limit} exams on the slot's day.
+     */
+    boolean reachesDailyLimit(int exam, int slot, int limit) {
+        int day = slotIndex.getDay(slot);
+        for (int p = 0; p < problem.getEnrollmentCount(exam); p++) {
+            if (studentOccupancy.getDailyCount(problem.getExamStudent(exam, p), day) >= limit) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Room entries read by {@link #chooseRooms} since the last call; resets the count.
+     * Only called between phases, never concurrently with room choices.
+     */
+    long takeRoomsScanned() {
+        long scanned = roomsScanned;
+        roomsScanned = 0;
+        return scanned;
+    }
+
+    /**
+     * Picks rooms for {@code studentCount} students in the slot: a random room that fits
+     * everyone when there is one (to avoid first-fit bias), otherwise the fewest free rooms
+     * that seat everyone with the least spare capacity (see {@link #splitAcrossRooms}).
+     * With a null {@code random} the smallest room that fits is taken instead. Returns null
+     * when the free rooms are too small.
+     */
+    int[] chooseRooms(int slot, int studentCount, Random random) {
+        int availableCount = roomOccupancy.collectAvailableRooms(slot, roomBuffer);
+        roomsScanned += roomOccupancy.size();
+
+        // Rooms are sorted by capacity, so the rooms that fit are a prefix of the list.
+        int fitCount = 0;
+        while (fitCount < availableCount && roomOccupancy.getCapacity(roomBuffer[fitCount]) >= studentCount) {
+            fitCount++;
+        }
+        if (fitCount > 0) {
+            return new int[]{roomBuffer[random != null ? random.nextInt(fitCount) : fitCount - 1]};
+        }
+
+        return splitAcrossRooms(availableCount, studentCount);
+    }
+
+    /**
+     * Multi-room split over the first {@code availableCount} rooms of the buffer (largest
+     * first). The k largest rooms give the smallest possible room count k; among the sets
+     * of k rooms, the one with the least total capacity is searched for exactly with a
+     * bounded branch and bound, starting from the best-fit answer (k-1 largest rooms plus
+     * the smallest room that covers the rest).
+     */
+    private int[] splitAcrossRooms(int availableCount, int studentCount) {
+        int[] capacities = new int[availableCount];
+        int roomCount = 0;
+        long seated = 0;
+        for (int i = 0; i < availableCount; i++) {
+            capacities[i] = roomOccupancy.getCapacity(roomBuffer[i]);
+        }
+        while (roomCount < availableCount && seated < studentCount) {
+            seated += capacities[roomCount++];
+        }
+        if (seated < studentCount) {
+            return null;
+        }
+
+        int[] best = new int[roomCount];
+        long largestPart = 0;
+        for (int i = 0; i < roomCount - 1; i++) {
+            best[i] = i;
+            largestPart += capacities[i];
+        }
+        int last = roomCount - 1;
+        while (last + 1 < availableCount && largestPart + capacities[last + 1] >= studentCount) {
+            last++;
+        }
+        best[roomCount - 1] = last;
+
+        RoomSubsetSearch search = new RoomSubsetSearch(capacities, roomCount, studentCount, largestPart + capacities[last], best);
+        search.run(0, 0, 0);
+
+        int[] rooms = new int[roomCount];
+        for (int i = 0; i < roomCount; i++) {
+            rooms[i] = roomBuffer[search.best[i]];
+        }
+        return rooms;
+    }
+
+    /**
+     * Depth-first search for the {@code size} rooms with the smallest total capacity that
+     * still seats everyone. Capacities are sorted descending, which gives a cheap upper
+     * bound on what the remaining picks can add.
+     */
+    private static final class RoomSubsetSearch {
+        private final int[] capacities;
+        private final int size;
+        private final int students;
+        private final int[] current;
+        private final int[] best;
+        private long bestTotal;
+        private int nodes;
+
+        RoomSubsetSearch(int[] capacities, int size, int students, long bestTotal, int[] best) {
+            this.capacities = capacities;
+            this.size = size;
+            this.students = students;
+            this.current = new int[size];
+            this.best = best;
+            this.bestTotal = bestTotal;
+        }
+
+        void run(int from, int picked, long total) {
+            if (bestTotal == students || ++nodes > EXACT_SPLIT_NODE_LIMIT || total >= bestTotal) {
+                return;
+            }
+            if (picked == size) {
+                if (total >= students) {
+                    bestTotal = total;
+                    System.arraycopy(current, 0, best, 0, size);
+                }
+                return;
+            }
+            int remaining = size - picked;
+            for (int i = from; i + remaining <= capacities.length; i++) {
+                long reachable = total;
+                for (int j = i; j < i + remaining; j++) {
+                    reachable += capacities[j];
+                }
+                if (reachable < students) {
+                    // Later rooms are no larger, so nothing further along can do better.
+                    return;
+                }
+                current[picked] = i;
+                run(i + 1, picked + 1, total + capacities[i]);
+            }
+        }
+    }
+
+    /**
+     * Chooses rooms in the slot and places the exam there as one step, or returns null
+     * when the free rooms no longer seat everyone. Room choice and booking are done under
+     * the room occupancy's lock, so exams of different conflict-graph components can be
+     * placed from several threads at once: they share no students, only rooms. Lock-free
+     * reads such as {@link RoomOccupancy#canHost} may then be stale, which is why the
+     * rooms are re-checked here.
+     */
+    int[] reserveRooms(int exam, int slot, Random random) {
+        synchronized (roomOccupancy) {
+            int[] rooms = chooseRooms(slot, problem.getEnrollmentCount(exam), random);
+            if (rooms != null) {
+                place(exam, slot, rooms);
+            }
+            return rooms;
+        }
+    }
+
+    /**
+     * Room ordinals the exam is placed in. The array is shared and must not be modified.
+     */
+    int[] getExamRooms(int exam) {
+        return examRooms[exam] != null ? examRooms[exam] : NO_ROOMS;
+    }
+
+    void place(int exam, int slot, int[] rooms) {
+        examSlots[exam] = slot;
+        examRooms[exam] = rooms.clone();
+        for (int p = 0; p < problem.getEnrollmentCount(exam); p++) {
+            studentOccupancy.assign(problem.getExamStudent(exam, p), slot);
+        }
+        for (int room : rooms) {
+            roomOccupancy.occupy(room, slot);
+        }
+    }
+
+    void unplace(int exam) {
+        int slot = examSlots[exam];
+        if (slot < 0) {
+            return;
+        }
+        for (int p = 0; p < problem.getEnrollmentCount(exam); p++) {
+            studentOccupancy.release(problem.getExamStudent(exam, p), slot);
+        }
+        for (int room : examRooms[exam]) {
+            roomOccupancy.release(room, slot);
+        }
+        examSlots[exam] = -1;
+        examRooms[exam] = null;
+    }
+
+    int[] copyExamSlots() {
+        return examSlots.clone();
+    }
+
+    int[][] copyExamRooms() {
+        return examRooms.clone();
+    }
+
+    /**
+     * Replaces the whole assignment with a previously copied one and rebuilds the indexes.
+     */
+    void restore(int[] slots, int[][] rooms) {
+        studentOccupancy.clear();
+        roomOccupancy.clear();
+        Arrays.fill(examSlots, -1);
+        Arrays.fill(examRooms, null);
+        for (int exam = 0; exam < slots.length; exam++) {
+            if (slots[exam] >= 0) {
+                place(exam, slots[exam], rooms[exam]);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.examscheduler.scheduler;
+
+public enum SchedulingStrategy {
+    LARGEST_ENROLLMENT_FIRST("Largest enrollment first"),
+    DSATUR("DSATUR (saturation degree)"),
+    BRANCH_AND_BOUND("Thorough (branch and bound)");
+
+    private final String displayName;
+
+    SchedulingStrategy(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,412 @@
+package com.examscheduler.scheduler;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.LongConsumer;
+
+/**
+ * Simulated-annealing improvement phase run on the {@link SchedulingState} after the
+ * construction pass.
+ *
+ * Student clashes, the exams-per-day limit and room availability/capacity are kept
+ * feasible by every move. What is minimised is the number of unscheduled exams first
+ * and the violations the validation constraints would still report (back-to-back exams
+ * of a student) second: an unscheduled exam weighs more than every pair the problem can
+ * have together, so no move that unschedules an exam can pay for itself by removing
+ * pairs. Moves relocate one exam, swap the slots of two exams, swap two slots for
+ * a {@link KempeChain}, or insert an unscheduled exam while unscheduling the few
+ * neighbours in its way. The cost change of a move is computed from the students of
+ * the exams it touches only.
+ */
+class SimulatedAnnealing {
+    static final int VIOLATION_WEIGHT = 1500;
+
+    private static final int ITERATIONS_PER_TEMPERATURE = 1000;
+    private static final int TIME_CHECK_INTERVAL = 128;
+    private static final int MAX_EJECTIONS = 3;
+    private static final int MAX_KEMPE_CHAIN = 32;
+    private static final double MIN_TEMPERATURE = 0.5;
+
+    private final SchedulingState state;
+    private final int maxExamsPerDay;
+    private final Random random;
+    private final long timeBudgetMillis;
+    private final double initialTemperature;
+    private final double coolingRate;
+    private final long unscheduledExamWeight;
+    private CancellationToken cancellationToken;
+    private LongConsumer bestListener;
+
+    // Exams with students; the first placedCount entries are the placed ones.
+    private final int[] exams;
+    private final int[] positions;
+    private int placedCount;
+
+    private final KempeChain kempeChain;
+
+    // Undo log of the current move and the exams whose students its cost depends on.
+    private final int[] touchedExams = new int[MAX_KEMPE_CHAIN];
+    private final int[] touchedSlots = new int[MAX_KEMPE_CHAIN];
+    private final int[][] touchedRooms = new int[MAX_KEMPE_CHAIN][];
+    private int touchedCount;
+    private final int[] moveExams = new int[MAX_KEMPE_CHAIN];
+
+    private final int[] studentStamps;
+    private int stamp;
+
+    private long cost;
+    private long bestCost;
+    private long initialCost;
+    private long iterations;
+    private long acceptedMoves;
+
+    SimulatedAnnealing(SchedulingState state, int maxExamsPerDay, Random random,
+                       long timeBudgetMillis, double initialTemperature, double coolingRate) {
+        this.state = state;
+        this.maxExamsPerDay = maxExamsPerDay;
+        this.random = random;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.initialTemperature = initialTemperature;
+        this.coolingRate = coolingRate;
+        this.studentStamps = new int[state.getStudentOccupancy().size()];
+        this.kempeChain = new KempeChain(state);
+        this.unscheduledExamWeight = unscheduledExamWeight(state);
+
+        int schedulable = 0;
+        for (int exam = 0; exam < state.getExamCount(); exam++) {
+            if (state.getStudentCount(exam) > 0) {
+                schedulable++;
+            }
+        }
+        this.exams = new int[schedulable];
+        this.positions = new int[state.getExamCount()];
+        int next = 0;
+        for (int exam = 0; exam < state.getExamCount(); exam++) {
+            positions[exam] = -1;
+            if (state.getStudentCount(exam) > 0) {
+                positions[exam] = next;
+                exams[next++] = exam;
+            }
+        }
+        for (int exam : exams.clone()) {
+            if (state.isPlaced(exam)) {
+                markPlaced(exam);
+            }
+        }
+    }
+
+    void setCancellationToken(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    /**
+     * Called with the cost whenever a new best assignment is found, while the state still
+     * holds that assignment.
+     */
+    void setBestListener(LongConsumer bestListener) {
+        this.bestListener = bestListener;
+    }
+
+    long getInitialCost() {
+        return initialCost;
+    }
+
+    long getBestCost() {
+        return bestCost;
+    }
+
+    long getIterations() {
+        return iterations;
+    }
+
+    long getAcceptedMoves() {
+        return acceptedMoves;
+    }
+
+    /**
+     * Runs until the time budget is spent, the cancellation token is cancelled, the cost
+     * reaches zero or a whole cooling cycle, from the initial temperature down to the
+     * minimum, finds nothing better; then leaves the best assignment found in the state.
+     */
+    void run() {
+        cost = computeCost();
+        initialCost = cost;
+        bestCost = cost;
+        if (cost == 0 || exams.length == 0 || state.getSlotIndex().size() == 0 || timeBudgetMillis <= 0) {
+            return;
+        }
+
+        int[] bestSlots = state.copyExamSlots();
+        int[][] bestRooms = state.copyExamRooms();
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        double temperature = initialTemperature;
+        boolean improvedThisCycle = false;
+
+        while (cost > 0) {
+            if (iterations % TIME_CHECK_INTERVAL == 0 && (System.nanoTime() >= deadline
+                    || cancellationToken != null && cancellationToken.isCancelled())) {
+                break;
+            }
+            iterations++;
+            if (iterations % ITERATIONS_PER_TEMPERATURE == 0) {
+                temperature *= coolingRate;
+                if (temperature < MIN_TEMPERATURE) {
+                    if (!improvedThisCycle) {
+                        break;
+                    }
+                    temperature = initialTemperature;
+                    improvedThisCycle = false;
+                }
+            }
+
+            touchedCount = 0;
+            long delta = proposeMove();
+            if (delta == Long.MAX_VALUE) {
+                continue;
+            }
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                cost += delta;
+                acceptedMoves++;
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    improvedThisCycle = true;
+                    bestSlots = state.copyExamSlots();
+                    bestRooms = state.copyExamRooms();
+                    if (bestListener != null) {
+                        bestListener.accept(bestCost);
+                    }
+                }
+            } else {
+                rollback();
+            }
+        }
+
+        if (cost != bestCost) {
+            state.restore(bestSlots, bestRooms);
+            cost = bestCost;
+        }
+    }
+
+    private long computeCost() {
+        return costOf(state);
+    }
+
+    /**
+     * Cost this phase minimises for the given state.
+     */
+    static long costOf(SchedulingState state) {
+        return state.getUnplacedCount() * unscheduledExamWeight(state) + state.countConsecutivePairs() * VIOLATION_WEIGHT;
+    }
+
+    /**
+     * Cost of one unscheduled exam: one more pair than the problem can have at most, so
+     * costs compare by unscheduled exams first and back-to-back pairs second.
+     */
+    static long unscheduledExamWeight(SchedulingState state) {
+        return (state.maxConsecutivePairs() + 1) * VIOLATION_WEIGHT;
+    }
+
+    /**
+     * Applies a random move and returns its cost change, or {@code Long.MAX_VALUE} when
+     * no feasible move was produced (the state is then unchanged).
+     */
+    private long proposeMove() {
+        int unplacedCount = exams.length - placedCount;
+        if (unplacedCount > 0 && (placedCount == 0 || random.nextInt(10) < 3)) {
+            return insertMove(exams[placedCount + random.nextInt(unplacedCount)]);
+        }
+        int exam = exams[random.nextInt(placedCount)];
+        int choice = random.nextInt(10);
+        if (placedCount > 1 && choice < 4) {
+            return swapMove(exam, exams[random.nextInt(placedCount)]);
+        }
+        if (choice < 7) {
+            return kempeMove(exam);
+        }
+        return relocateMove(exam);
+    }
+
+    private long relocateMove(int exam) {
+        int from = state.getExamSlot(exam);
+        int to = random.nextInt(state.getSlotIndex().size());
+        if (to == from) {
+            return Long.MAX_VALUE;
+        }
+        moveExams[0] = exam;
+        long before = violationsOf(moveExams, 1);
+        touch(exam);
+        state.unplace(exam);
+        if (!tryPlace(exam, to)) {
+            rollback();
+            return Long.MAX_VALUE;
+        }
+        return (violationsOf(moveExams, 1) - before) * VIOLATION_WEIGHT;
+    }
+
+    private long swapMove(int first, int second) {
+        int firstSlot = state.getExamSlot(first);
+        int secondSlot = state.getExamSlot(second);
+        if (first == second || firstSlot == secondSlot) {
+            return Long.MAX_VALUE;
+        }
+        moveExams[0] = first;
+        moveExams[1] = second;
+        long before = violationsOf(moveExams, 2);
+        touch(first);
+        touch(second);
+        state.unplace(first);
+        state.unplace(second);
+        if (!tryPlace(first, secondSlot) || !tryPlace(second, firstSlot)) {
+            rollback();
+            return Long.MAX_VALUE;
+        }
+        return (violationsOf(moveExams, 2) - before) * VIOLATION_WEIGHT;
+    }
+
+    private long kempeMove(int exam) {
+        int to = random.nextInt(state.getSlotIndex().size());
+        if (!kempeChain.find(exam, to, MAX_KEMPE_CHAIN)) {
+            return Long.MAX_VALUE;
+        }
+        int chainSize = kempeChain.size();
+        for (int i = 0; i < chainSize; i++) {
+            moveExams[i] = kempeChain.getExam(i);
+        }
+        long before = violationsOf(moveExams, chainSize);
+        for (int i = 0; i < chainSize; i++) {
+            touch(moveExams[i]);
+        }
+        if (!kempeChain.apply(maxExamsPerDay, random)) {
+            // The chain has already put itself back.
+            touchedCount = 0;
+            return Long.MAX_VALUE;
+        }
+        return (violationsOf(moveExams, chainSize) - before) * VIOLATION_WEIGHT;
+    }
+
+    private long insertMove(int exam) {
+        int to = random.nextInt(state.getSlotIndex().size());
+        moveExams[0] = exam;
+        int ejectedCount = 0;
+        ConflictGraph graph = state.getConflictGraph();
+        for (int k = 0; k < graph.getDegree(exam); k++) {
+            int neighbour = graph.getNeighbour(exam, k);
+            int neighbourSlot = state.getExamSlot(neighbour);
+            if (neighbourSlot >= 0 && state.getSlotIndex().overlaps(neighbourSlot, to)) {
+                if (ejectedCount == MAX_EJECTIONS) {
+                    return Long.MAX_VALUE;
+                }
+                moveExams[1 + ejectedCount++] = neighbour;
+            }
+        }
+
+        long before = violationsOf(moveExams, ejectedCount + 1);
+        for (int i = 1; i <= ejectedCount; i++) {
+            touch(moveExams[i]);
+            state.unplace(moveExams[i]);
+            markUnplaced(moveExams[i]);
+        }
+        touch(exam);
+        if (!tryPlace(exam, to)) {
+            rollback();
+            return Long.MAX_VALUE;
+        }
+        markPlaced(exam);
+        long after = violationsOf(moveExams, ejectedCount + 1);
+        return (ejectedCount - 1) * unscheduledExamWeight + (after - before) * VIOLATION_WEIGHT;
+    }
+
+    private boolean tryPlace(int exam, int slot) {
+        if (SlotEvaluator.evaluate(state, exam, slot, state.getStudentCount(exam), maxExamsPerDay) != SlotVerdict.FEASIBLE) {
+            return false;
+        }
+        int[] rooms = state.chooseRooms(slot, state.getStudentCount(exam), random);
+        if (rooms == null) {
+            return false;
+        }
+        state.place(exam, slot, rooms);
+        return true;
+    }
+
+    private void touch(int exam) {
+        touchedExams[touchedCount] = exam;
+        touchedSlots[touchedCount] = state.getExamSlot(exam);
+        touchedRooms[touchedCount] = state.getExamRooms(exam);
+        touchedCount++;
+    }
+
+    /**
+     * Restores every touched exam. All of them are removed first so that re-placing one
+     * never meets another still sitting in its old slot.
+     */
+    private void rollback() {
+        for (int i = 0; i < touchedCount; i++) {
+            state.unplace(touchedExams[i]);
+        }
+        for (int i = 0; i < touchedCount; i++) {
+            int exam = touchedExams[i];
+            if (touchedSlots[i] >= 0) {
+                state.place(exam, touchedSlots[i], touchedRooms[i]);
+                markPlaced(exam);
+            } else {
+                markUnplaced(exam);
+            }
+        }
+        touchedCount = 0;
+    }
+
+    /**
+     * Back-to-back violations of the distinct students of the given exams.
+     */
+    private long violationsOf(int[] examList, int count) {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(studentStamps, 0);
+            stamp = 1;
+        }
+        long violations = 0;
+        for (int i = 0; i < count; i++) {
+            violations += violationsOfStudents(examList[i]);
+        }
+        return violations;
+    }
+
+    private long violationsOfStudents(int exam) {
+        long violations = 0;
+        StudentOccupancy occupancy = state.getStudentOccupancy();
+        for (int p = 0; p < state.getStudentCount(exam); p++) {
+            int student = state.getStudent(exam, p);
+            if (studentStamps[student] != stamp) {
+                studentStamps[student] = stamp;
+                violations += occupancy.countConsecutivePairs(student);
+            }
+        }
+        return violations;
+    }
+
+    private void markPlaced(int exam) {
+        int position = positions[exam];
+        if (position < placedCount) {
+            return;
+        }
+        swapPositions(position, placedCount);
+        placedCount++;
+    }
+
+    private void markUnplaced(int exam) {
+        int position = positions[exam];
+        if (position >= placedCount) {
+            return;
+        }
+        placedCount--;
+        swapPositions(position, placedCount);
+    }
+
+    private void swapPositions(int first, int second) {
+        int firstExam = exams[first];
+        int secondExam = exams[second];
+        exams[first] = secondExam;
+        exams[second] = firstExam;
+        positions[secondExam] = first;
+        positions[firstExam] = second;
+    }
+}
@@ -0,0 +1,189 @@
+package com.examscheduler.scheduler;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Forward-checking domains for the construction pass: the set of slot ordinals each
+ * unplaced exam could still be placed in.
+ *
+ * Domains start as the slots {@link SlotEvaluator#evaluate} accepts, evaluated through the
+ * scheduler's {@link SlotEvaluator} so its pool is used when there is one, and are pruned as
+ * exams are placed, so they stay exact while the construction only adds placements:
+ * <ul>
+ *   <li>a placed exam removes its overlapping slots from its neighbours' domains;</li>
+ *   <li>a student reaching the exams-per-day limit removes that day from the domains of
+ *       the student's other exams;</li>
+ *   <li>a slot whose free rooms no longer seat an exam is removed from its domain.</li>
+ * </ul>
+ * Placement then takes the first slot of the domain instead of re-evaluating every slot,
+ * and an exam whose domain becomes empty is known to be unschedulable at once.
+ */
+final class SlotDomains {
+    private final SchedulingState state;
+    private final int maxExamsPerDay;
+    private final Trace trace;
+    private final BitSet[] domains;
+    private final int[] sizes;
+
+    SlotDomains(SchedulingState state, int maxExamsPerDay, SlotEvaluator evaluator, Trace trace,
+                SchedulerStatistics statistics) {
+        this.state = state;
+        this.maxExamsPerDay = maxExamsPerDay;
+        this.trace = trace;
+        int slotCount = state.getSlotIndex().size();
+        this.domains = new BitSet[state.getExamCount()];
+        this.sizes = new int[state.getExamCount()];
+        SlotVerdict[][] verdicts = evaluator.evaluateAll(state, maxExamsPerDay);
+        long[] verdictCounts = new long[SlotVerdict.values().length];
+        for (int exam = 0; exam < domains.length; exam++) {
+            if (verdicts[exam] == null) {
+                continue;
+            }
+            BitSet domain = new BitSet(slotCount);
+            for (int slot = 0; slot < slotCount; slot++) {
+                SlotVerdict verdict = verdicts[exam][slot];
+                if (verdict == SlotVerdict.FEASIBLE) {
+                    domain.set(slot);
+                }
+                verdictCounts[verdict.ordinal()]++;
+            }
+            domains[exam] = domain;
+            sizes[exam] = domain.cardinality();
+        }
+        statistics.countVerdicts(verdictCounts);
+    }
+
+    /**
+     * Number of slots left in the exam's domain; 0 for exams without a domain.
+     */
+    int size(int exam) {
+        return sizes[exam];
+    }
+
+    /**
+     * Lowest slot of the exam's domain at or after {@code fromSlot}, or -1.
+     */
+    int nextSlot(int exam, int fromSlot) {
+        return domains[exam] != null ? domains[exam].nextSetBit(fromSlot) : -1;
+    }
+
+    /**
+     * Pruner for the given exams (all exams when null). The exams must be closed under
+     * adjacency, such as a connected component of the conflict graph: a pruner then only
+     * changes the domains of its own exams, and pruners of different components can run
+     * on different threads.
+     */
+    Pruner pruner(int[] exams) {
+        return new Pruner(exams);
+    }
+
+    final class Pruner {
+        private final int[] bySize;
+        private final int[] capacityPruned;
+        private int wipedOut;
+
+        private Pruner(int[] exams) {
+            int count = exams != null ? exams.length : domains.length;
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = exams != null ? exams[i] : i;
+            }
+            Arrays.sort(order, (first, second) -> Integer.compare(state.getStudentCount(second), state.getStudentCount(first)));
+            this.bySize = new int[count];
+            for (int i = 0; i < count; i++) {
+                bySize[i] = order[i];
+            }
+            this.capacityPruned = new int[state.getSlotIndex().size()];
+        }
+
+        /**
+         * Number of exams whose domain this pruner emptied.
+         */
+        int getWipedOut() {
+            return wipedOut;
+        }
+
+        /**
+         * Propagates the placement of {@code exam}. {@code onShrink} (may be null) is
+         * called for every unplaced exam whose domain lost slots.
+         */
+        void afterPlacing(int exam, IntConsumer onShrink) {
+            int slot = state.getExamSlot(exam);
+            if (slot < 0) {
+                return;
+            }
+            ConflictGraph graph = state.getConflictGraph();
+            TimeSlotIndex slotIndex = state.getSlotIndex();
+
+            for (int k = 0; k < graph.getDegree(exam); k++) {
+                int neighbour = graph.getNeighbour(exam, k);
+                int removed = 0;
+                for (int p = 0; p < slotIndex.getOverlapCount(slot); p++) {
+                    removed += remove(neighbour, slotIndex.getOverlapping(slot, p));
+                }
+                notifyShrink(neighbour, removed, onShrink);
+            }
+
+            int day = slotIndex.getDay(slot);
+            if (day >= 0) {
+                StudentOccupancy occupancy = state.getStudentOccupancy();
+                ProblemInstance problem = state.getProblem();
+                for (int p = 0; p < state.getStudentCount(exam); p++) {
+                    int student = state.getStudent(exam, p);
+                    if (occupancy.getDailyCount(student, day) < maxExamsPerDay) {
+                        continue;
+                    }
+                    for (int e = 0; e < problem.getStudentExamCount(student); e++) {
+                        int other = problem.getStudentExam(student, e);
+                        int removed = 0;
+                        for (int d = 0; d < slotIndex.getDaySlotCount(day); d++) {
+                            removed += remove(other, slotIndex.getDaySlot(day, d));
+                        }
+                        notifyShrink(other, removed, onShrink);
+                    }
+                }
+            }
+
+            // Free capacity only falls during construction, and only in the slots overlapping
+            // the placed one, so the exams too large for a slot are a growing prefix of the
+            // exams sorted by size.
+            RoomOccupancy rooms = state.getRoomOccupancy();
+            for (int p = 0; p < slotIndex.getOverlapCount(slot); p++) {
+                int s = slotIndex.getOverlapping(slot, p);
+                long free = rooms.getFreeCapacity(s);
+                while (capacityPruned[s] < bySize.length && state.getStudentCount(bySize[capacityPruned[s]]) > free) {
+                    int other = bySize[capacityPruned[s]++];
+                    notifyShrink(other, remove(other, s), onShrink);
+                }
+            }
+        }
+
+        private int remove(int exam, int slot) {
+            BitSet domain = domains[exam];
+            if (domain == null || !domain.get(slot) || state.isPlaced(exam)) {
+                return 0;
+            }
+            domain.clear(slot);
+            sizes[exam]--;
+            return 1;
+        }
+
+        private void notifyShrink(int exam, int removed, IntConsumer onShrink) {
+            if (removed == 0) {
+                return;
+            }
+            if (sizes[exam] == 0) {
+                wipedOut++;
+                if (trace.debug) {
+                    trace.debug("Forward check left exam " + state.getConflictGraph().getExam(exam).getExamId()
+                            + " without a feasible slot");
+                }
+            }
+            if (onShrink != null) {
+                onShrink.accept(exam);
+            }
+        }
+    }
+}
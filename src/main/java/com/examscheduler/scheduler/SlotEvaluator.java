@@ -0,0 +1,176 @@
+package com.examscheduler.scheduler;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Finds the first feasible time slot for an exam against the current partial schedule.
+ *
+ * Evaluation only reads the {@link SchedulingState}, so candidate slots can be scored
+ * concurrently on a {@link ForkJoinPool}. Slots are evaluated in waves and the lowest
+ * feasible ordinal wins, so the parallel search picks exactly the slot the sequential
+ * scan would.
+ */
+class SlotEvaluator {
+    private static final int SEQUENTIAL_CHUNK = 8;
+    private static final int MIN_PARALLEL_WORK = 4096;
+
+    private final ForkJoinPool pool;
+
+    SlotEvaluator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    static SlotVerdict evaluate(SchedulingState state, int exam, int slot, int studentCount, int maxExamsPerDay) {
+        if (state.hasNeighbourConflict(exam, slot)) {
+            return SlotVerdict.STUDENT_CONFLICT;
+        }
+        if (state.reachesDailyLimit(exam, slot, maxExamsPerDay)) {
+            return SlotVerdict.MAX_EXAMS_PER_DAY;
+        }
+        if (!state.getRoomOccupancy().canHost(slot, studentCount)) {
+            return SlotVerdict.INSUFFICIENT_CAPACITY;
+        }
+        return SlotVerdict.FEASIBLE;
+    }
+
+    /**
+     * Returns the lowest feasible slot ordinal, or -1. Every slot rejected before it is
+     * counted in {@code failureReasons} and, when {@code onRejected} is not null, reported
+     * to it in slot order.
+     */
+    int findFirstFeasibleSlot(SchedulingState state, int exam, int studentCount, int maxExamsPerDay,
+                              Map<SlotVerdict, Integer> failureReasons, ObjIntConsumer<SlotVerdict> onRejected) {
+        int slotCount = state.getSlotIndex().size();
+        long work = (long) slotCount * Math.max(1, studentCount + state.getConflictGraph().getDegree(exam));
+        if (pool == null || pool.getParallelism() < 2 || work < MIN_PARALLEL_WORK) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                SlotVerdict verdict = evaluate(state, exam, slot, studentCount, maxExamsPerDay);
+                if (verdict == SlotVerdict.FEASIBLE) {
+                    return slot;
+                }
+                failureReasons.merge(verdict, 1, Integer::sum);
+                if (onRejected != null) {
+                    onRejected.accept(verdict, slot);
+                }
+            }
+            return -1;
+        }
+
+        SlotVerdict[] verdicts = new SlotVerdict[slotCount];
+        int waveSize = Math.max(SEQUENTIAL_CHUNK, pool.getParallelism() * SEQUENTIAL_CHUNK);
+        for (int waveStart = 0; waveStart < slotCount; waveStart += waveSize) {
+            int waveEnd = Math.min(slotCount, waveStart + waveSize);
+            pool.invoke(new EvaluateRange(state, exam, studentCount, maxExamsPerDay, verdicts, waveStart, waveEnd));
+            for (int slot = waveStart; slot < waveEnd; slot++) {
+                if (verdicts[slot] == SlotVerdict.FEASIBLE) {
+                    return slot;
+                }
+                failureReasons.merge(verdicts[slot], 1, Integer::sum);
+                if (onRejected != null) {
+                    onRejected.accept(verdicts[slot], slot);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Verdicts of every slot for every exam that has students and is not placed yet; the
+     * rows of the other exams are null. Exams are shared out over the pool when there is
+     * one and the work is large enough.
+     */
+    SlotVerdict[][] evaluateAll(SchedulingState state, int maxExamsPerDay) {
+        SlotVerdict[][] verdicts = new SlotVerdict[state.getExamCount()][];
+        long work = (long) state.getExamCount() * state.getSlotIndex().size();
+        if (pool == null || pool.getParallelism() < 2 || work < MIN_PARALLEL_WORK) {
+            evaluateExams(state, maxExamsPerDay, verdicts, 0, verdicts.length);
+        } else {
+            pool.invoke(new EvaluateExams(state, maxExamsPerDay, verdicts, 0, verdicts.length));
+        }
+        return verdicts;
+    }
+
+    private static void evaluateExams(SchedulingState state, int maxExamsPerDay, SlotVerdict[][] verdicts,
+                                      int from, int to) {
+        int slotCount = state.getSlotIndex().size();
+        for (int exam = from; exam < to; exam++) {
+            int studentCount = state.getStudentCount(exam);
+            if (studentCount == 0 || state.isPlaced(exam)) {
+                continue;
+            }
+            SlotVerdict[] row = new SlotVerdict[slotCount];
+            for (int slot = 0; slot < slotCount; slot++) {
+                row[slot] = evaluate(state, exam, slot, studentCount, maxExamsPerDay);
+            }
+            verdicts[exam] = row;
+        }
+    }
+
+    private static class EvaluateExams extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SchedulingState state;
+        private final int maxExamsPerDay;
+        private final SlotVerdict[][] verdicts;
+        private final int from;
+        private final int to;
+
+        EvaluateExams(SchedulingState state, int maxExamsPerDay, SlotVerdict[][] verdicts, int from, int to) {
+            this.state = state;
+            this.maxExamsPerDay = maxExamsPerDay;
+            this.verdicts = verdicts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_CHUNK) {
+                evaluateExams(state, maxExamsPerDay, verdicts, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EvaluateExams(state, maxExamsPerDay, verdicts, from, middle),
+                    new EvaluateExams(state, maxExamsPerDay, verdicts, middle, to));
+        }
+    }
+
+    private static class EvaluateRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SchedulingState state;
+        private final int exam;
+        private final int studentCount;
+        private final int maxExamsPerDay;
+        private final SlotVerdict[] verdicts;
+        private final int from;
+        private final int to;
+
+        EvaluateRange(SchedulingState state, int exam, int studentCount, int maxExamsPerDay,
+                      SlotVerdict[] verdicts, int from, int to) {
+            this.state = state;
+            this.exam = exam;
+            this.studentCount = studentCount;
+            this.maxExamsPerDay = maxExamsPerDay;
+            this.verdicts = verdicts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_CHUNK) {
+                for (int slot = from; slot < to; slot++) {
+                    verdicts[slot] = evaluate(state, exam, slot, studentCount, maxExamsPerDay);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EvaluateRange(state, exam, studentCount, maxExamsPerDay, verdicts, from, middle),
+                    new EvaluateRange(state, exam, studentCount, maxExamsPerDay, verdicts, middle, to));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.examscheduler.scheduler;
+
+/**
+ * Outcome of evaluating one candidate time slot for an exam. The rejection names are
+ * the keys reported in the scheduler's failure notes.
+ */
+public enum SlotVerdict {
+    FEASIBLE,
+    STUDENT_CONFLICT,
+    MAX_EXAMS_PER_DAY,
+    INSUFFICIENT_CAPACITY
+}
@@ -0,0 +1,158 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.entity.Student;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-run index of which slots each student already sits an exam in.
+ *
+ * Students and slots are addressed by their {@link ProblemInstance} ordinals. Each student owns one row of
+ * {@code long} words with a bit per slot ordinal, plus a counter per exam day, so the
+ * overlap and exams-per-day checks no longer scan {@link Student#getAssignedSessions()}.
+ *
+ * A student can be assigned the same slot more than once, as when an existing schedule
+ * with a clash is loaded; the extra assignments are counted on the side, so a slot only
+ * becomes free again once every exam in it has been released.
+ */
+public class StudentOccupancy {
+    private final ProblemInstance problem;
+    private final TimeSlotIndex slotIndex;
+    private final int wordsPerStudent;
+    private final long[] occupiedSlots;
+    private final int[] dailyCounts;
+    private final Map<Long, Integer> extraAssignments;
+
+    public StudentOccupancy(ProblemInstance problem, TimeSlotIndex slotIndex) {
+        this.problem = problem;
+        this.slotIndex = slotIndex;
+        this.wordsPerStudent = (slotIndex.size() + 63) >>> 6;
+        this.occupiedSlots = new long[problem.getStudentCount() * wordsPerStudent];
+        this.dailyCounts = new int[problem.getStudentCount() * slotIndex.getDayCount()];
+        this.extraAssignments = new HashMap<>();
+    }
+
+    /**
+     * Copy with the same occupied slots. The problem instance is shared, the counters are not,
+     * so the copy can be changed independently of the original.
+     */
+    public StudentOccupancy(StudentOccupancy other) {
+        this.problem = other.problem;
+        this.slotIndex = other.slotIndex;
+        this.wordsPerStudent = other.wordsPerStudent;
+        this.occupiedSlots = other.occupiedSlots.clone();
+        this.dailyCounts = other.dailyCounts.clone();
+        this.extraAssignments = new HashMap<>(other.extraAssignments);
+    }
+
+    public int size() {
+        return problem.getStudentCount();
+    }
+
+    public int indexOf(Student student) {
+        return problem.indexOfStudent(student);
+    }
+
+    public Student getStudent(int ordinal) {
+        return problem.getStudent(ordinal);
+    }
+
+    public boolean isOccupied(int student, int slot) {
+        return (occupiedSlots[student * wordsPerStudent + (slot >>> 6)] & (1L << slot)) != 0;
+    }
+
+    /**
+     * True when the student already sits an exam in any slot overlapping the given one.
+     */
+    public boolean hasOverlap(int student, int slot) {
+        for (int p = 0; p < slotIndex.getOverlapCount(slot); p++) {
+            if (isOccupied(student, slotIndex.getOverlapping(slot, p))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Next slot ordinal at or after {@code fromSlot} the student is occupied in, or -1.
+     */
+    public int nextOccupied(int student, int fromSlot) {
+        if (fromSlot >= slotIndex.size()) {
+            return -1;
+        }
+        int base = student * wordsPerStudent;
+        int wordIndex = fromSlot >>> 6;
+        long word = occupiedSlots[base + wordIndex] & (-1L << fromSlot);
+        while (true) {
+            if (word != 0) {
+                int slot = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return slot < slotIndex.size() ? slot : -1;
+            }
+            if (++wordIndex == wordsPerStudent) {
+                return -1;
+            }
+            word = occupiedSlots[base + wordIndex];
+        }
+    }
+
+    /**
+     * Number of pairs of the student's occupied slots that are back to back.
+     */
+    public int countConsecutivePairs(int student) {
+        int pairs = 0;
+        for (int slot = nextOccupied(student, 0); slot >= 0; slot = nextOccupied(student, slot + 1)) {
+            for (int p = 0; p < slotIndex.getConsecutiveCount(slot); p++) {
+                int other = slotIndex.getConsecutive(slot, p);
+                if (other > slot && isOccupied(student, other)) {
+                    pairs++;
+                }
+            }
+        }
+        return pairs;
+    }
+
+    public int getDailyCount(int student, int day) {
+        if (day < 0) {
+            return 0;
+        }
+        return dailyCounts[student * slotIndex.getDayCount() + day];
+    }
+
+    public void assign(int student, int slot) {
+        if (isOccupied(student, slot)) {
+            extraAssignments.merge((long) student * slotIndex.size() + slot, 1, Integer::sum);
+        } else {
+            occupiedSlots[student * wordsPerStudent + (slot >>> 6)] |= 1L << slot;
+        }
+        int day = slotIndex.getDay(slot);
+        if (day >= 0) {
+            dailyCounts[student * slotIndex.getDayCount() + day]++;
+        }
+    }
+
+    public void release(int student, int slot) {
+        long key = (long) student * slotIndex.size() + slot;
+        Integer extra = extraAssignments.isEmpty() ? null : extraAssignments.get(key);
+        if (extra != null) {
+            if (extra > 1) {
+                extraAssignments.put(key, extra - 1);
+            } else {
+                extraAssignments.remove(key);
+            }
+        } else {
+            occupiedSlots[student * wordsPerStudent + (slot >>> 6)] &= ~(1L << slot);
+        }
+        int day = slotIndex.getDay(slot);
+        if (day >= 0 && dailyCounts[student * slotIndex.getDayCount() + day] > 0) {
+            dailyCounts[student * slotIndex.getDayCount() + day]--;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(occupiedSlots, 0L);
+        Arrays.fill(dailyCounts, 0);
+        extraAssignments.clear();
+    }
+}
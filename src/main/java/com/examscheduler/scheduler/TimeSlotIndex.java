@@ -0,0 +1,187 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.constraint.NoConsecutiveExamsConstraint;
+import com.examscheduler.entity.TimeSlot;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Dense ordinals for a list of time slots, plus an interval index of which slots
+ * overlap each other (same semantics as {@link TimeSlot#overlaps(TimeSlot)}).
+ *
+ * Overlaps are found with a sort-and-sweep over the minute offsets of a
+ * {@link ProblemInstance}: each slot is only compared with the slots that start before it
+ * ends plus the minimum gap, so slots of unequal length are handled without comparing
+ * every pair.
+ */
+public class TimeSlotIndex {
+    private final ProblemInstance problem;
+    private final int[][] overlapping;
+    private final int[][] consecutive;
+    private final int[][] daySlots;
+
+    public TimeSlotIndex(List<TimeSlot> timeSlots) {
+        this(new ProblemInstance(null, timeSlots, null));
+    }
+
+    public TimeSlotIndex(ProblemInstance problem) {
+        this(problem, 0);
+    }
+
+    /**
+     * @param minimumGapMinutes rest time below which two slots of the same day count as
+     *                          consecutive, as in {@link NoConsecutiveExamsConstraint}
+     */
+    public TimeSlotIndex(ProblemInstance problem, int minimumGapMinutes) {
+        this.problem = problem;
+        int slotCount = problem.getSlotCount();
+        this.overlapping = new int[slotCount][];
+        this.consecutive = new int[slotCount][];
+
+        // Minute offsets already encode the date, so one ordering by start covers every day.
+        List<Integer> sweepOrder = new ArrayList<>();
+        for (int i = 0; i < slotCount; i++) {
+            if (problem.isSlotComplete(i)) {
+                sweepOrder.add(i);
+            }
+        }
+        sweepOrder.sort(Comparator.comparingInt(problem::getSlotStart));
+
+        List<List<Integer>> found = new ArrayList<>(slotCount);
+        List<List<Integer>> adjacent = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            found.add(new ArrayList<>());
+            adjacent.add(new ArrayList<>());
+        }
+        for (int a = 0; a < sweepOrder.size(); a++) {
+            int first = sweepOrder.get(a);
+            int firstStart = problem.getSlotStart(first);
+            int firstEnd = problem.getSlotEnd(first);
+            if (firstStart < firstEnd) {
+                found.get(first).add(first);
+            }
+            for (int b = a + 1; b < sweepOrder.size(); b++) {
+                int second = sweepOrder.get(b);
+                int secondStart = problem.getSlotStart(second);
+                // Every later slot starts too late to overlap or follow this one closely.
+                if (secondStart > firstEnd + minimumGapMinutes
+                        || problem.getSlotDay(second) != problem.getSlotDay(first)) {
+                    break;
+                }
+                int secondEnd = problem.getSlotEnd(second);
+                if (firstStart < secondEnd && secondStart < firstEnd) {
+                    found.get(first).add(second);
+                    found.get(second).add(first);
+                }
+                // Consecutive slots: one starts when, or shortly after, the other ends.
+                int gap = Math.max(secondStart - firstEnd, firstStart - secondEnd);
+                if (NoConsecutiveExamsConstraint.isTooClose(Duration.ofMinutes(gap), minimumGapMinutes)) {
+                    adjacent.get(first).add(second);
+                    adjacent.get(second).add(first);
+                }
+            }
+        }
+        for (int i = 0; i < slotCount; i++) {
+            overlapping[i] = toSortedArray(found.get(i));
+            consecutive[i] = toSortedArray(adjacent.get(i));
+        }
+
+        List<List<Integer>> byDay = new ArrayList<>(problem.getDayCount());
+        for (int day = 0; day < problem.getDayCount(); day++) {
+            byDay.add(new ArrayList<>());
+        }
+        for (int i = 0; i < slotCount; i++) {
+            if (problem.getSlotDay(i) >= 0) {
+                byDay.get(problem.getSlotDay(i)).add(i);
+            }
+        }
+        this.daySlots = new int[problem.getDayCount()][];
+        for (int day = 0; day < daySlots.length; day++) {
+            daySlots[day] = toSortedArray(byDay.get(day));
+        }
+    }
+
+    private static int[] toSortedArray(List<Integer> values) {
+        int[] ids = values.stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    public ProblemInstance getProblem() {
+        return problem;
+    }
+
+    public int size() {
+        return problem.getSlotCount();
+    }
+
+    public TimeSlot getSlot(int ordinal) {
+        return problem.getSlot(ordinal);
+    }
+
+    public List<TimeSlot> getSlots() {
+        return problem.getSlots();
+    }
+
+    public int indexOf(TimeSlot timeSlot) {
+        return problem.indexOfSlot(timeSlot);
+    }
+
+    /**
+     * Number of slots overlapping the given slot, the slot itself included.
+     */
+    public int getOverlapCount(int ordinal) {
+        return overlapping[ordinal].length;
+    }
+
+    public int getOverlapping(int ordinal, int position) {
+        return overlapping[ordinal][position];
+    }
+
+    public boolean overlaps(int first, int second) {
+        return Arrays.binarySearch(overlapping[first], second) >= 0;
+    }
+
+    /**
+     * Number of slots on the same date that start when this one ends, or end when it starts,
+     * or within the minimum gap of it.
+     */
+    public int getConsecutiveCount(int ordinal) {
+        return consecutive[ordinal].length;
+    }
+
+    public int getConsecutive(int ordinal, int position) {
+        return consecutive[ordinal][position];
+    }
+
+    /**
+     * Day ordinal of the slot, or -1 when the slot has no date.
+     */
+    public int getDay(int ordinal) {
+        return problem.getSlotDay(ordinal);
+    }
+
+    /**
+     * Number of slots on the given day.
+     */
+    public int getDaySlotCount(int day) {
+        return daySlots[day].length;
+    }
+
+    public int getDaySlot(int day, int position) {
+        return daySlots[day][position];
+    }
+
+    public int getDayCount() {
+        return problem.getDayCount();
+    }
+
+    public LocalDate getDate(int day) {
+        return problem.getDate(day);
+    }
+}
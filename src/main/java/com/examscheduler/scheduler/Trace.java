@@ -0,0 +1,57 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.entity.Exam;
+import com.examscheduler.entity.TimeSlot;
+
+import java.util.Map;
+
+/**
+ * Level gate in front of a {@link SchedulerTraceListener}. Call sites test the public flags
+ * before building an event, so a disabled level costs one field read.
+ */
+final class Trace {
+    static final Trace DISABLED = new Trace(null, TraceLevel.OFF);
+
+    final boolean info;
+    final boolean debug;
+    final boolean slots;
+    private final SchedulerTraceListener listener;
+
+    Trace(SchedulerTraceListener listener, TraceLevel level) {
+        this.listener = listener;
+        boolean enabled = listener != null && level != null;
+        this.info = enabled && level.compareTo(TraceLevel.INFO) >= 0;
+        this.debug = enabled && level.compareTo(TraceLevel.DEBUG) >= 0;
+        this.slots = enabled && level.compareTo(TraceLevel.TRACE) >= 0;
+    }
+
+    void info(String message) {
+        if (info) {
+            listener.onMessage(TraceLevel.INFO, message);
+        }
+    }
+
+    void debug(String message) {
+        if (debug) {
+            listener.onMessage(TraceLevel.DEBUG, message);
+        }
+    }
+
+    void slotRejected(Exam exam, TimeSlot slot, SlotVerdict reason) {
+        if (slots) {
+            listener.onSlotRejected(exam, slot, reason);
+        }
+    }
+
+    void examPlaced(Exam exam, TimeSlot slot, int roomCount) {
+        if (debug) {
+            listener.onExamPlaced(exam, slot, roomCount);
+        }
+    }
+
+    void examFailed(Exam exam, Map<SlotVerdict, Integer> reasons) {
+        if (info) {
+            listener.onExamFailed(exam, reasons);
+        }
+    }
+}
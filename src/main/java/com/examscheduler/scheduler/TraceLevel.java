@@ -0,0 +1,16 @@
+package com.examscheduler.scheduler;
+
+/**
+ * How much a {@link SchedulerTraceListener} is told about a run. Each level includes the
+ * ones before it.
+ */
+public enum TraceLevel {
+    /** No events; the scheduler skips all tracing work. */
+    OFF,
+    /** Run configuration, phase summaries and exams that finally failed. */
+    INFO,
+    /** Every exam attempted and placed. */
+    DEBUG,
+    /** Every candidate slot rejected, with the reason. */
+    TRACE
+}
@@ -1,7 +1,15 @@
 package edu.ieu.se302.examscheduler.ui.views;
 
+import com.examscheduler.constraint.Violation;
 import com.examscheduler.entity.*;
+import com.examscheduler.scheduler.FeasibilityReport;
+import com.examscheduler.scheduler.RelaxedPlacement;
 import com.examscheduler.scheduler.Scheduler;
+import com.examscheduler.scheduler.SchedulePenalty;
+import com.examscheduler.scheduler.SchedulerTraceListener;
+import com.examscheduler.scheduler.SchedulingStrategy;
+import com.examscheduler.scheduler.SlotVerdict;
+import com.examscheduler.scheduler.TraceLevel;
 import edu.ieu.se302.examscheduler.ui.util.TimeSlotGenerator;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -25,10 +33,16 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ScheduleGenerationView {
+    private static final int RELAXATION_PASSES = 3;
+    private static final int MAX_LISTED_VIOLATIONS = 200;
 
     private final BorderPane root = new BorderPane();
     private final ObservableList<Student> students;
@@ -43,6 +57,8 @@ public class ScheduleGenerationView {
     private final DatePicker scheduleDatePicker = new DatePicker();
     private final Button clearDateFilterButton = new Button("Show All Dates");
     private final Spinner<Integer> maxExamsPerDaySpinner = new Spinner<>(1, 10, 2);
+    private final CheckBox relaxLimitCheckBox = new CheckBox("Relax if needed");
+    private final ComboBox<SchedulingStrategy> strategyComboBox = new ComboBox<>(FXCollections.observableArrayList(SchedulingStrategy.values()));
 
     // Student Details Panel
     private VBox detailsPanel;
@@ -93,7 +109,13 @@ public class ScheduleGenerationView {
         maxExamsPerDaySpinner.setId("maxExamsPerDaySpinner");
         HBox buttons = new HBox(8, generateBtn, exportCsvBtn, bulkGenerateSlotsBtn);
         HBox dateFilterRow = new HBox(8, new Label("Filter Date:"), scheduleDatePicker, clearDateFilterButton);
-        HBox maxExamsRow = new HBox(8, new Label("Max Exams/Day:"), maxExamsPerDaySpinner);
+        relaxLimitCheckBox.setId("relaxMaxExamsCheckBox");
+        relaxLimitCheckBox.setTooltip(new Tooltip("Retry exams that do not fit with up to "
+                + RELAXATION_PASSES + " more exams per day"));
+        HBox maxExamsRow = new HBox(8, new Label("Max Exams/Day:"), maxExamsPerDaySpinner, relaxLimitCheckBox);
+        strategyComboBox.setValue(SchedulingStrategy.LARGEST_ENROLLMENT_FIRST);
+        strategyComboBox.setId("schedulingStrategyComboBox");
+        HBox strategyRow = new HBox(8, new Label("Engine:"), strategyComboBox);
         scheduleDatePicker.setId("scheduleDatePicker");
         clearDateFilterButton.setId("scheduleDateClearButton");
         scheduleDatePicker.valueProperty().addListener((obs, oldDate, newDate) -> applyDateFilter(newDate));
@@ -103,7 +125,7 @@ public class ScheduleGenerationView {
         studentList.setPrefHeight(200);
         VBox.setVgrow(studentList, Priority.ALWAYS);
 
-        VBox controls = new VBox(10, title, buttons, maxExamsRow, dateFilterRow, studentsLabel, studentList);
+        VBox controls = new VBox(10, title, buttons, maxExamsRow, strategyRow, dateFilterRow, studentsLabel, studentList);
         controls.setPadding(new Insets(0, 10, 0, 0));
 
         root.setLeft(controls);
@@ -442,44 +464,71 @@ public class ScheduleGenerationView {
 
         // 1. Configure and run the scheduler (exams auto-generated from courses)
         int maxExamsPerDay = maxExamsPerDaySpinner.getValue();
-        Scheduler scheduler = new Scheduler(new ArrayList<>(rooms), new ArrayList<>(timeSlots), maxExamsPerDay);
+        Scheduler scheduler = new Scheduler(new ArrayList<>(rooms), new ArrayList<>(timeSlots), maxExamsPerDay,
+                new ArrayList<>(), strategyComboBox.getValue());
+        scheduler.setRelaxationPasses(relaxLimitCheckBox.isSelected() ? RELAXATION_PASSES : 0);
+        Map<Exam, Map<SlotVerdict, Integer>> examFailures = new ConcurrentHashMap<>();
+        scheduler.setTraceListener(new SchedulerTraceListener() {
+            @Override
+            public void onExamFailed(Exam exam, Map<SlotVerdict, Integer> reasons) {
+                examFailures.put(exam, reasons);
+            }
+        }, TraceLevel.INFO);
         Schedule schedule = scheduler.generateSchedule(new ArrayList<>(courses), new ArrayList<>(exams));
 
+        // A failed lower bound proves some exams cannot be placed; the partial schedule
+        // is still shown, and the bound tells which resource is short.
+        FeasibilityReport feasibility = scheduler.getLastFeasibilityReport();
+        boolean slotsShort = feasibility != null && (feasibility.hasFailed(FeasibilityReport.Bound.CLIQUE)
+                || feasibility.hasFailed(FeasibilityReport.Bound.STUDENT_LOAD));
+        boolean roomsShort = feasibility != null && (feasibility.hasFailed(FeasibilityReport.Bound.ROOM_CAPACITY)
+                || feasibility.hasFailed(FeasibilityReport.Bound.SEATS));
+
         // 2. Display the results
         scheduleSessions.setAll(schedule.getExamSessions());
 
-        // 3. Show violations in an alert
-        List<String> violations = schedule.validate();
-        List<String> notes = schedule.getSchedulingNotes();
+        // 3. Show violations in an alert: hard ones reject the schedule, soft ones are warnings
+        List<Violation> hardViolations = new ArrayList<>();
+        List<Violation> softViolations = new ArrayList<>();
+        for (Violation violation : schedule.checkViolations()) {
+            if (violation.severity() == Violation.Severity.HARD) {
+                hardViolations.add(violation);
+            } else {
+                softViolations.add(violation);
+            }
+        }
+        // Relaxed placements also leave a scheduling note; every other note is an exam
+        // that was not scheduled.
+        List<RelaxedPlacement> relaxedPlacements = scheduler.getLastRelaxedPlacements();
+        int failedExams = schedule.getSchedulingNotes().size() - relaxedPlacements.size();
 
-        if (!violations.isEmpty()) {
+        if (!hardViolations.isEmpty()) {
             scheduleSessions.clear();
             Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setTitle("Schedule Generation Failed");
             alert.setHeaderText("A valid schedule could not be created due to conflicts.");
 
-            TextArea textArea = new TextArea(String.join("\n- ", violations));
+            TextArea textArea = new TextArea(describeViolations(hardViolations));
             textArea.setEditable(false);
             textArea.setWrapText(true);
 
             alert.getDialogPane().setContent(textArea);
             alert.showAndWait();
             return null;
-        } else if (!notes.isEmpty()) {
+        } else if (failedExams > 0) {
             // Calculate scheduling recommendations
-            int failedExams = notes.size();
             int totalExams = exams.size();
             int scheduledExams = totalExams - failedExams;
             int currentTimeSlots = timeSlots.size();
             int currentRooms = rooms.size();
 
-            // Analyze failure types from notes
+            // Analyze failure types from the scheduler's exam-failed events
             int capacityFailures = 0;
             int conflictFailures = 0;
-            for (String note : notes) {
-                if (note.contains("INSUFFICIENT_CAPACITY")) {
+            for (Map<SlotVerdict, Integer> reasons : examFailures.values()) {
+                if (reasons.containsKey(SlotVerdict.INSUFFICIENT_CAPACITY)) {
                     capacityFailures++;
-                } else if (note.contains("STUDENT_CONFLICT") || note.contains("MAX_EXAMS_PER_DAY")) {
+                } else if (reasons.containsKey(SlotVerdict.STUDENT_CONFLICT) || reasons.containsKey(SlotVerdict.MAX_EXAMS_PER_DAY)) {
                     conflictFailures++;
                 }
             }
@@ -516,10 +565,35 @@ public class ScheduleGenerationView {
             }
             message.append("\n");
 
+            if (feasibility != null && feasibility.isProvablyInfeasible()) {
+                message.append("PROVEN LIMITS (no schedule can place every exam):\n");
+                for (String bound : feasibility.getFailedBounds()) {
+                    message.append("• ").append(bound).append("\n");
+                }
+                message.append("\n");
+            }
+
             // Provide general recommendations
             message.append("RECOMMENDATIONS:\n\n");
 
-            if (conflictFailures > capacityFailures && conflictFailures > 0) {
+            // More time slots cannot fix a room-capacity or seat shortage, so a failed
+            // bound decides the advice before the per-exam failure counts do.
+            boolean offerMoreSlots = slotsShort || (!roomsShort && conflictFailures >= capacityFailures);
+            if (slotsShort || roomsShort) {
+                if (slotsShort) {
+                    message.append("⚠ PRIMARY ISSUE: Not enough time slots for the exams students share\n\n");
+                    message.append("POSSIBLE SOLUTIONS:\n");
+                    message.append("• Generate more time slots using 'Bulk Generate Slots'\n");
+                    message.append("• Increase 'Max Exams/Day' setting to allow more exams per student and day\n");
+                }
+                if (roomsShort) {
+                    message.append(slotsShort ? "\n" : "");
+                    message.append("⚠ PRIMARY ISSUE: Insufficient room capacity\n\n");
+                    message.append("POSSIBLE SOLUTIONS:\n");
+                    message.append("• Import or add rooms with higher capacity\n");
+                    message.append("• Add more rooms to the system\n");
+                }
+            } else if (conflictFailures > capacityFailures && conflictFailures > 0) {
                 // Primary issue: not enough time slots
                 message.append("⚠ PRIMARY ISSUE: Not enough time slots or scheduling constraints\n\n");
                 message.append("POSSIBLE SOLUTIONS:\n");
@@ -543,6 +617,8 @@ public class ScheduleGenerationView {
                 }
             }
 
+            appendRelaxedPlacements(message, relaxedPlacements, maxExamsPerDay);
+            appendWarnings(message, softViolations);
             message.append(String.format("\n%d exam(s) could not be scheduled.\n", failedExams));
             message.append("Please review the recommendations above and adjust your settings accordingly.");
 
@@ -553,25 +629,96 @@ public class ScheduleGenerationView {
 
             alert.getDialogPane().setContent(textArea);
 
-            // Add button to directly open slot generator
-            ButtonType generateSlotsButton = new ButtonType("Generate More Slots", ButtonBar.ButtonData.OK_DONE);
-            alert.getButtonTypes().setAll(generateSlotsButton, ButtonType.CANCEL);
+            // Add button to directly open slot generator when more slots can help
+            if (offerMoreSlots) {
+                ButtonType generateSlotsButton = new ButtonType("Generate More Slots", ButtonBar.ButtonData.OK_DONE);
+                alert.getButtonTypes().setAll(generateSlotsButton, ButtonType.CANCEL);
 
-            Optional<ButtonType> result = alert.showAndWait();
-            if (result.isPresent() && result.get() == generateSlotsButton) {
-                showBulkGenerateDialog();
+                Optional<ButtonType> result = alert.showAndWait();
+                if (result.isPresent() && result.get() == generateSlotsButton) {
+                    showBulkGenerateDialog();
+                }
+            } else {
+                alert.showAndWait();
             }
         } else {
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
             alert.setTitle("Schedule Generated");
             alert.setHeaderText(null);
-            alert.setContentText("Schedule generated successfully with no violations.");
+            SchedulePenalty penalty = scheduler.getLastPenalty();
+            StringBuilder message = new StringBuilder(softViolations.isEmpty()
+                    ? "Schedule generated successfully with no violations."
+                    : "Schedule generated successfully with no hard violations.");
+            if (penalty != null) {
+                message.append(String.format("%nSoft-constraint penalty: %.1f (proximity %d, same-day pairs %d, "
+                        + "empty seat share %.1f)", penalty.getTotal(), penalty.getProximityCost(),
+                        penalty.getSameDayPairs(), penalty.getRoomFillCost()));
+            }
+            appendRelaxedPlacements(message, relaxedPlacements, maxExamsPerDay);
+            if (softViolations.isEmpty()) {
+                alert.setContentText(message.toString());
+            } else {
+                appendWarnings(message, softViolations);
+                TextArea textArea = new TextArea(message.toString());
+                textArea.setEditable(false);
+                textArea.setWrapText(true);
+                alert.getDialogPane().setContent(textArea);
+            }
             alert.showAndWait();
         }
 
         return schedule;
     }
 
+    /**
+     * Count per violation type, then the messages of the first violations, hard ones first.
+     * Only the listed violations are formatted.
+     */
+    private String describeViolations(List<Violation> violations) {
+        Map<Violation.Type, Integer> counts = new EnumMap<>(Violation.Type.class);
+        for (Violation violation : violations) {
+            counts.merge(violation.type(), 1, Integer::sum);
+        }
+        List<Violation> sorted = new ArrayList<>(violations);
+        sorted.sort(Comparator.comparing(Violation::severity).thenComparing(Violation::type));
+
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%d violation(s):%n", violations.size()));
+        for (Map.Entry<Violation.Type, Integer> entry : counts.entrySet()) {
+            text.append("• ").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+        }
+        text.append("\n");
+        for (int i = 0; i < Math.min(MAX_LISTED_VIOLATIONS, sorted.size()); i++) {
+            text.append("- ").append(sorted.get(i).getMessage()).append("\n");
+        }
+        if (sorted.size() > MAX_LISTED_VIOLATIONS) {
+            text.append(String.format("... and %d more%n", sorted.size() - MAX_LISTED_VIOLATIONS));
+        }
+        return text.toString();
+    }
+
+    private void appendWarnings(StringBuilder message, List<Violation> softViolations) {
+        if (softViolations.isEmpty()) {
+            return;
+        }
+        message.append("\n\nWARNINGS (the schedule can still be used):\n");
+        message.append(describeViolations(softViolations));
+    }
+
+    private void appendRelaxedPlacements(StringBuilder message, List<RelaxedPlacement> relaxedPlacements,
+                                         int maxExamsPerDay) {
+        if (relaxedPlacements.isEmpty()) {
+            return;
+        }
+        message.append(String.format("%n%nMax Exams/Day was relaxed for %d exam(s):%n", relaxedPlacements.size()));
+        for (RelaxedPlacement placement : relaxedPlacements) {
+            message.append(String.format("• Exam %s placed on %s in pass %d with %d exams/day; "
+                    + "%d student(s) over the limit of %d%n", placement.getExam().getExamId(), placement.getDate(),
+                    placement.getPass(), placement.getLimit(), placement.getOverbookedStudents().size(),
+                    maxExamsPerDay));
+        }
+    }
+
     /**
      * Clears all previous schedule state to prevent conflicts when regenerating.
      * This is critical because students and exams maintain bidirectional references to ExamSessions.
@@ -0,0 +1,156 @@
+package com.examscheduler;
+
+import com.examscheduler.constraint.Constraint;
+import com.examscheduler.constraint.MaxExamsPerDayConstraint;
+import com.examscheduler.constraint.NoConsecutiveExamsConstraint;
+import com.examscheduler.constraint.Violation;
+import com.examscheduler.entity.ExamSession;
+import com.examscheduler.entity.Schedule;
+
+import java.util.List;
+
+import static com.examscheduler.TestSchedules.*;
+
+public class IncrementalValidationTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== Starting Incremental Validation Tests ===\n");
+
+        testIncrementalMatchesFullCheck(1, 0);
+        testIncrementalMatchesFullCheck(2, 90);
+        testStopIncrementalValidation();
+        testConstraintsSharedBetweenSchedules();
+
+        System.out.println("\n=== All Tests Completed ===");
+    }
+
+    private static void testIncrementalMatchesFullCheck(int maxExamsPerDay, int minimumGapMinutes) {
+        System.out.println("TEST: Incremental Violations Match Full Check (max " + maxExamsPerDay
+                + " exams/day, gap " + minimumGapMinutes + " min)");
+
+        Schedule schedule = emptySchedule(maxExamsPerDay, minimumGapMinutes);
+        schedule.startIncrementalValidation();
+        List<ExamSession> sessions = busyWeek();
+        for (ExamSession session : sessions) {
+            schedule.addExamSession(session);
+            assertMatchesFullCheck(schedule, "after adding " + session.getSessionId());
+        }
+        int violationsBefore = schedule.getCurrentViolations().size();
+        assert violationsBefore > 0 : "The busy week should break every constraint";
+
+        ExamSession a = sessions.get(0);
+        ExamSession b = sessions.get(1);
+        ExamSession c = sessions.get(2);
+        schedule.moveExamSession(a, slot(DAY2, 14, 0, 16, 0), SMALL_ROOM);
+        assertMatchesFullCheck(schedule, "after moving A into the small room on day 2");
+        assert countOf(schedule.getCurrentViolations(), Violation.Type.ROOM_CAPACITY) == 1
+                : "A should not fit the small room";
+
+        schedule.moveExamSession(b, b.getTimeSlot(), null);
+        assertMatchesFullCheck(schedule, "after taking B's room away");
+        assert countOf(schedule.getCurrentViolations(), Violation.Type.NO_ROOM) == 1 : "B should have no room";
+
+        unlink(c);
+        schedule.removeExamSession(c);
+        assertMatchesFullCheck(schedule, "after removing C");
+        link(c);
+        schedule.addExamSession(c);
+        assertMatchesFullCheck(schedule, "after adding C back");
+
+        schedule.moveExamSession(a, slot(DAY1, 9, 0, 11, 0), ROOM1);
+        schedule.moveExamSession(b, b.getTimeSlot(), ROOM2);
+        assertMatchesFullCheck(schedule, "after moving A and B back");
+        assert schedule.getCurrentViolations().size() == violationsBefore
+                : "Moving everything back should restore the original violations";
+
+        for (ExamSession session : sessions) {
+            unlink(session);
+            schedule.removeExamSession(session);
+            assertMatchesFullCheck(schedule, "after removing " + session.getSessionId());
+        }
+        assert schedule.getCurrentViolations().isEmpty() : "An empty schedule has no violations";
+
+        System.out.println("  ✓ Incremental violations matched a full check after every change");
+        System.out.println("  Violations in the busy week: " + violationsBefore);
+        System.out.println();
+    }
+
+    private static void testStopIncrementalValidation() {
+        System.out.println("TEST: Stopping Incremental Validation");
+
+        Schedule schedule = emptySchedule(1, 0);
+        schedule.startIncrementalValidation();
+        List<ExamSession> sessions = busyWeek();
+        for (ExamSession session : sessions) {
+            schedule.addExamSession(session);
+        }
+        schedule.stopIncrementalValidation();
+        assert !schedule.isIncrementalValidation() : "Incremental validation should be off";
+
+        // Without the hooks the session is changed behind the constraints' back; the
+        // current violations must still come from a full check.
+        sessions.get(0).setRoom(SMALL_ROOM);
+        assertMatchesFullCheck(schedule, "after an unreported change");
+
+        System.out.println("  ✓ Violations are checked in full once incremental validation stops");
+        System.out.println();
+    }
+
+    private static void testConstraintsSharedBetweenSchedules() {
+        System.out.println("TEST: Constraints Shared Between Two Schedules");
+
+        // The second schedule uses the very same constraint objects, the way every schedule
+        // of a scheduler shares its custom constraints.
+        Schedule first = emptySchedule(1, 0);
+        Schedule second = new Schedule("COPY", "Copy", DAY1, DAY2);
+        second.setConstraints(first.getConstraints());
+        first.startIncrementalValidation();
+        second.startIncrementalValidation();
+
+        List<ExamSession> firstSessions = busyWeek();
+        List<ExamSession> secondSessions = busyWeek();
+        for (ExamSession session : firstSessions) {
+            first.addExamSession(session);
+        }
+        for (ExamSession session : secondSessions.subList(0, 3)) {
+            second.addExamSession(session);
+        }
+        assertMatchesFullCheck(first, "first schedule after loading");
+        assertMatchesFullCheck(second, "second schedule after loading");
+
+        first.moveExamSession(firstSessions.get(0), slot(DAY2, 14, 0, 16, 0), SMALL_ROOM);
+        unlink(secondSessions.get(1));
+        second.removeExamSession(secondSessions.get(1));
+        assertMatchesFullCheck(first, "first schedule after moving A");
+        assertMatchesFullCheck(second, "second schedule after removing B");
+
+        for (Constraint constraint : first.getConstraints()) {
+            if (constraint instanceof MaxExamsPerDayConstraint) {
+                ((MaxExamsPerDayConstraint) constraint).setMaxExamsPerDay(2);
+            } else if (constraint instanceof NoConsecutiveExamsConstraint) {
+                ((NoConsecutiveExamsConstraint) constraint).setMinimumGapMinutes(90);
+            }
+        }
+        assertMatchesFullCheck(first, "first schedule after changing the limits");
+        assertMatchesFullCheck(second, "second schedule after changing the limits");
+
+        System.out.println("  ✓ Each schedule kept its own violations with shared constraints");
+        System.out.println();
+    }
+
+    private static void assertMatchesFullCheck(Schedule schedule, String step) {
+        List<String> current = sortedMessages(schedule.getCurrentViolations());
+        List<String> full = sortedMessages(schedule.checkViolations());
+        assert current.equals(full) : step + ": incremental " + current + " but full check " + full;
+    }
+
+    private static int countOf(List<Violation> violations, Violation.Type type) {
+        int count = 0;
+        for (Violation violation : violations) {
+            if (violation.type() == type) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
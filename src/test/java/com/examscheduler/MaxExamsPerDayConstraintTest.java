@@ -0,0 +1,89 @@
+package com.examscheduler;
+
+import com.examscheduler.constraint.MaxExamsPerDayConstraint;
+import com.examscheduler.entity.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.examscheduler.TestSchedules.*;
+
+public class MaxExamsPerDayConstraintTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== Starting MaxExamsPerDayConstraint Tests ===\n");
+
+        testBusyWeekMatchesPerStudentCount(1);
+        testBusyWeekMatchesPerStudentCount(2);
+        testBusyWeekMatchesPerStudentCount(3);
+        testSessionsWithoutSlot();
+
+        System.out.println("\n=== All Tests Completed ===");
+    }
+
+    private static void testBusyWeekMatchesPerStudentCount(int maxExamsPerDay) {
+        System.out.println("TEST: One-Pass Count Matches Per-Student Count (max " + maxExamsPerDay + ")");
+
+        Schedule schedule = scheduleOf(busyWeek());
+        List<String> violations = new MaxExamsPerDayConstraint(maxExamsPerDay).validate(schedule);
+
+        assert violations.equals(perStudentCheck(schedule, maxExamsPerDay))
+                : "One-pass and per-student counts differ: " + violations;
+        // S1 sits three exams on day 2 (F, H, I) and two on day 1; nobody sits more.
+        int expected = maxExamsPerDay == 1 ? 6 : maxExamsPerDay == 2 ? 1 : 0;
+        assert violations.size() == expected : "Expected " + expected + " violations, got " + violations;
+
+        System.out.println("  ✓ Same violations, in the same order, as the per-student count");
+        System.out.println("  Violations found: " + violations.size());
+        System.out.println();
+    }
+
+    private static void testSessionsWithoutSlot() {
+        System.out.println("TEST: Sessions Without a Slot Are Not Counted");
+
+        Student student = student("S1");
+        List<ExamSession> sessions = new ArrayList<>();
+        sessions.add(session("A", slot(DAY1, 9, 0, 11, 0), ROOM1, student));
+        sessions.add(session("B", null, ROOM1, student));
+        sessions.add(session("C", null, ROOM2, student));
+        Schedule schedule = scheduleOf(sessions);
+        List<String> violations = new MaxExamsPerDayConstraint(1).validate(schedule);
+
+        assert violations.isEmpty() : "Only one session has a date: " + violations;
+        assert perStudentCheck(schedule, 1).isEmpty() : "The per-student count should agree";
+
+        System.out.println("  ✓ Undated sessions are ignored");
+        System.out.println();
+    }
+
+    private static Schedule scheduleOf(List<ExamSession> sessions) {
+        Schedule schedule = emptySchedule(2, 0);
+        for (ExamSession session : sessions) {
+            schedule.addExamSession(session);
+        }
+        return schedule;
+    }
+
+    /**
+     * Counts every student's exams on every date through the student's own sessions, as the
+     * constraint did before counting in one pass.
+     */
+    private static List<String> perStudentCheck(Schedule schedule, int maxExamsPerDay) {
+        List<String> violations = new ArrayList<>();
+        Set<Student> students = schedule.getAllStudents();
+        Set<LocalDate> dates = schedule.getAllDates();
+        for (Student student : students) {
+            for (LocalDate date : dates) {
+                int count = student.getDailyExamCount(date);
+                if (count > maxExamsPerDay) {
+                    violations.add(String.format(
+                            "MAX EXAMS VIOLATION: Student %s (%s) has %d exams on %s (maximum allowed: %d)",
+                            student.getStudentId(), student.getFullName(), count, date, maxExamsPerDay));
+                }
+            }
+        }
+        return violations;
+    }
+}
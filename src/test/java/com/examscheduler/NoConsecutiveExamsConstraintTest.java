@@ -0,0 +1,138 @@
+package com.examscheduler;
+
+import com.examscheduler.constraint.NoConsecutiveExamsConstraint;
+import com.examscheduler.constraint.Violation;
+import com.examscheduler.entity.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.examscheduler.TestSchedules.*;
+
+public class NoConsecutiveExamsConstraintTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== Starting NoConsecutiveExamsConstraint Tests ===\n");
+
+        testPairBehindOverlappingSession();
+        testBusyWeekMatchesPairwiseCheck(0);
+        testBusyWeekMatchesPairwiseCheck(90);
+        testMinimumGap();
+
+        System.out.println("\n=== All Tests Completed ===");
+    }
+
+    private static void testPairBehindOverlappingSession() {
+        System.out.println("TEST: Back-to-Back Pair Behind an Overlapping Session");
+
+        // B ends last but overlaps C; A still ends exactly when C starts.
+        Student student = student("S1");
+        List<ExamSession> sessions = new ArrayList<>();
+        sessions.add(session("A", slot(DAY1, 9, 0, 11, 0), ROOM1, student));
+        sessions.add(session("B", slot(DAY1, 10, 0, 13, 0), ROOM2, student));
+        sessions.add(session("C", slot(DAY1, 11, 0, 12, 0), SMALL_ROOM, student));
+        Schedule schedule = scheduleOf(sessions, 0);
+
+        Set<String> pairs = pairsOf(new NoConsecutiveExamsConstraint().check(schedule));
+        assert pairs.equals(Set.of("S1:A-C")) : "Expected only A/C, got " + pairs;
+        assert pairs.equals(pairwiseCheck(schedule, 0)) : "The pairwise check should agree";
+
+        schedule.startIncrementalValidation();
+        Set<String> incremental = pairsOf(schedule.getCurrentViolations());
+        assert incremental.contains("S1:A-C") : "Incremental validation should report A/C too, got " + incremental;
+
+        System.out.println("  ✓ A/C is reported although B ends later than A");
+        System.out.println();
+    }
+
+    private static void testBusyWeekMatchesPairwiseCheck(int minimumGapMinutes) {
+        System.out.println("TEST: Timeline Matches Pairwise Check (gap " + minimumGapMinutes + " min)");
+
+        Schedule schedule = scheduleOf(busyWeek(), minimumGapMinutes);
+        Set<String> pairs = pairsOf(new NoConsecutiveExamsConstraint(minimumGapMinutes).check(schedule));
+
+        assert pairs.equals(pairwiseCheck(schedule, minimumGapMinutes))
+                : "Timeline and pairwise check differ: " + pairs;
+        if (minimumGapMinutes == 0) {
+            assert pairs.equals(Set.of("S2:A-C", "S4:E-D", "S1:F-H")) : "Unexpected back-to-back pairs " + pairs;
+        } else {
+            // H ends at 13:00 and I starts at 14:00, one hour later.
+            assert pairs.equals(Set.of("S2:A-C", "S4:E-D", "S1:F-H", "S1:H-I")) : "Unexpected close pairs " + pairs;
+        }
+
+        System.out.println("  ✓ Same pairs as comparing every two sessions of a student");
+        System.out.println("  Pairs found: " + pairs);
+        System.out.println();
+    }
+
+    private static void testMinimumGap() {
+        System.out.println("TEST: Minimum Gap Between Exams");
+
+        TimeSlot morning = slot(DAY1, 9, 0, 11, 0);
+        assert NoConsecutiveExamsConstraint.isTooClose(morning, slot(DAY1, 11, 0, 13, 0), 0)
+                : "Back-to-back exams are always too close";
+        assert !NoConsecutiveExamsConstraint.isTooClose(morning, slot(DAY1, 11, 30, 13, 0), 0)
+                : "Without a minimum gap any break is enough";
+        assert NoConsecutiveExamsConstraint.isTooClose(morning, slot(DAY1, 11, 30, 13, 0), 60)
+                : "A 30 minute break is shorter than 60 minutes";
+        assert !NoConsecutiveExamsConstraint.isTooClose(morning, slot(DAY1, 12, 0, 13, 0), 60)
+                : "A break of exactly the minimum gap is enough";
+        assert !NoConsecutiveExamsConstraint.isTooClose(morning, slot(DAY1, 10, 0, 12, 0), 60)
+                : "Overlapping exams are left to NoOverlapConstraint";
+        assert !NoConsecutiveExamsConstraint.isTooClose(morning, slot(DAY2, 11, 0, 13, 0), 60)
+                : "Exams on different days are never too close";
+
+        System.out.println("  ✓ Gap rule checked at, below and above the minimum");
+        System.out.println();
+    }
+
+    private static Schedule scheduleOf(List<ExamSession> sessions, int minimumGapMinutes) {
+        Schedule schedule = emptySchedule(2, minimumGapMinutes);
+        for (ExamSession session : sessions) {
+            schedule.addExamSession(session);
+        }
+        return schedule;
+    }
+
+    /**
+     * "student:earlier-later" for every consecutive-exams violation.
+     */
+    private static Set<String> pairsOf(List<Violation> violations) {
+        Set<String> pairs = new TreeSet<>();
+        for (Violation violation : violations) {
+            if (violation.type() == Violation.Type.CONSECUTIVE_EXAMS) {
+                pairs.add(violation.studentId() + ":" + violation.sessionIds().get(0) + "-"
+                        + violation.sessionIds().get(1));
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Compares every two sessions of each student, as the constraint did before sorting
+     * sessions on a timeline, with the earlier session first.
+     */
+    private static Set<String> pairwiseCheck(Schedule schedule, int minimumGapMinutes) {
+        Set<String> pairs = new TreeSet<>();
+        for (Student student : schedule.getAllStudents()) {
+            List<ExamSession> sessions = schedule.getSessionsForStudent(student);
+            for (int i = 0; i < sessions.size(); i++) {
+                for (int j = i + 1; j < sessions.size(); j++) {
+                    TimeSlot first = sessions.get(i).getTimeSlot();
+                    TimeSlot second = sessions.get(j).getTimeSlot();
+                    if (first == null || second == null
+                            || !NoConsecutiveExamsConstraint.isTooClose(first, second, minimumGapMinutes)) {
+                        continue;
+                    }
+                    boolean firstEarlier = !first.getEndTime().isAfter(second.getStartTime());
+                    ExamSession earlier = firstEarlier ? sessions.get(i) : sessions.get(j);
+                    ExamSession later = firstEarlier ? sessions.get(j) : sessions.get(i);
+                    pairs.add(student.getStudentId() + ":" + earlier.getSessionId() + "-" + later.getSessionId());
+                }
+            }
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,145 @@
+package com.examscheduler;
+
+import com.examscheduler.constraint.NoOverlapConstraint;
+import com.examscheduler.entity.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.examscheduler.TestSchedules.*;
+
+public class NoOverlapConstraintTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== Starting NoOverlapConstraint Tests ===\n");
+
+        testBusyWeekMatchesPairwiseCheck();
+        testNestedAndTouchingSessions();
+        testIncompleteSessionsAreSkipped();
+
+        System.out.println("\n=== All Tests Completed ===");
+    }
+
+    private static void testBusyWeekMatchesPairwiseCheck() {
+        System.out.println("TEST: Sweep Matches Pairwise Check on the Busy Week");
+
+        Schedule schedule = scheduleOf(busyWeek());
+        List<String> violations = new NoOverlapConstraint().validate(schedule);
+
+        assert violations.equals(pairwiseCheck(schedule)) : "Sweep and pairwise check differ: " + violations;
+        // S1 in A/B and S3 in B/C; Room 1 in A/D, C/D and F/G.
+        assert count(violations, "OVERLAP VIOLATION: Student") == 2 : "Expected two student overlaps";
+        assert count(violations, "ROOM OVERLAP VIOLATION") == 3 : "Expected three room overlaps";
+
+        System.out.println("  ✓ Same violations, in the same order, as the pairwise check");
+        System.out.println("  Violations found: " + violations.size());
+        System.out.println();
+    }
+
+    private static void testNestedAndTouchingSessions() {
+        System.out.println("TEST: Nested, Chained and Touching Sessions");
+
+        Student student = student("S1");
+        List<ExamSession> sessions = new ArrayList<>();
+        // A long session holding a short one, a third overlapping only the long one, and a
+        // fourth that starts exactly when the long one ends.
+        sessions.add(session("LONG", slot(DAY1, 9, 0, 13, 0), ROOM1, student));
+        sessions.add(session("SHORT", slot(DAY1, 10, 0, 10, 30), ROOM1, student));
+        sessions.add(session("LATE", slot(DAY1, 12, 0, 13, 0), ROOM2, student));
+        sessions.add(session("AFTER", slot(DAY1, 13, 0, 14, 0), ROOM1, student));
+        Schedule schedule = scheduleOf(sessions);
+        List<String> violations = new NoOverlapConstraint().validate(schedule);
+
+        assert violations.equals(pairwiseCheck(schedule)) : "Sweep and pairwise check differ: " + violations;
+        assert count(violations, "OVERLAP VIOLATION: Student") == 2 : "LONG overlaps SHORT and LATE only";
+        assert count(violations, "ROOM OVERLAP VIOLATION") == 1 : "Room 1 holds LONG and SHORT at once";
+        assert count(violations, "Session AFTER") == 0 : "Touching sessions do not overlap";
+
+        System.out.println("  ✓ Nested sessions overlap, touching sessions do not");
+        System.out.println();
+    }
+
+    private static void testIncompleteSessionsAreSkipped() {
+        System.out.println("TEST: Sessions Without a Slot or Room");
+
+        Student student = student("S1");
+        List<ExamSession> sessions = new ArrayList<>();
+        sessions.add(session("A", slot(DAY1, 9, 0, 11, 0), ROOM1, student));
+        sessions.add(session("NO-SLOT", null, ROOM1, student));
+        sessions.add(session("NO-ROOM", slot(DAY1, 10, 0, 12, 0), null));
+        Schedule schedule = scheduleOf(sessions);
+        List<String> violations = new NoOverlapConstraint().validate(schedule);
+
+        assert violations.isEmpty() : "Incomplete sessions should be skipped: " + violations;
+        assert pairwiseCheck(schedule).isEmpty() : "The pairwise check should agree";
+
+        System.out.println("  ✓ Incomplete sessions are skipped");
+        System.out.println();
+    }
+
+    private static Schedule scheduleOf(List<ExamSession> sessions) {
+        Schedule schedule = emptySchedule(2, 0);
+        for (ExamSession session : sessions) {
+            schedule.addExamSession(session);
+        }
+        return schedule;
+    }
+
+    /**
+     * Every pair of a student's sessions, then every pair of sessions in the schedule, as
+     * the constraint checked them before the sweep.
+     */
+    private static List<String> pairwiseCheck(Schedule schedule) {
+        List<String> violations = new ArrayList<>();
+        Set<Student> students = schedule.getAllStudents();
+        for (Student student : students) {
+            List<ExamSession> studentSessions = schedule.getSessionsForStudent(student);
+            for (int i = 0; i < studentSessions.size(); i++) {
+                ExamSession session1 = studentSessions.get(i);
+                for (int j = i + 1; j < studentSessions.size(); j++) {
+                    ExamSession session2 = studentSessions.get(j);
+                    if (session1.getTimeSlot() != null && session2.getTimeSlot() != null
+                            && session1.getTimeSlot().overlaps(session2.getTimeSlot())) {
+                        violations.add(String.format(
+                                "OVERLAP VIOLATION: Student %s (%s) has overlapping exams: "
+                                        + "Session %s at %s and Session %s at %s",
+                                student.getStudentId(), student.getFullName(), session1.getSessionId(),
+                                session1.getTimeSlot(), session2.getSessionId(), session2.getTimeSlot()));
+                    }
+                }
+            }
+        }
+
+        List<ExamSession> allSessions = schedule.getExamSessions();
+        for (int i = 0; i < allSessions.size(); i++) {
+            ExamSession first = allSessions.get(i);
+            if (first.getRoom() == null || first.getTimeSlot() == null) {
+                continue;
+            }
+            for (int j = i + 1; j < allSessions.size(); j++) {
+                ExamSession second = allSessions.get(j);
+                if (second.getRoom() == null || second.getTimeSlot() == null) {
+                    continue;
+                }
+                if (first.getRoom().equals(second.getRoom()) && first.getTimeSlot().overlaps(second.getTimeSlot())) {
+                    violations.add(String.format(
+                            "ROOM OVERLAP VIOLATION: Room %s has overlapping sessions %s and %s at %s / %s",
+                            first.getRoom().getRoomName(), first.getSessionId(), second.getSessionId(),
+                            first.getTimeSlot(), second.getTimeSlot()));
+                }
+            }
+        }
+        return violations;
+    }
+
+    private static int count(List<String> violations, String text) {
+        int count = 0;
+        for (String violation : violations) {
+            if (violation.contains(text)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
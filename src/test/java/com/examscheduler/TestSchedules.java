@@ -0,0 +1,113 @@
+package com.examscheduler;
+
+import com.examscheduler.constraint.MaxExamsPerDayConstraint;
+import com.examscheduler.constraint.NoConsecutiveExamsConstraint;
+import com.examscheduler.constraint.NoOverlapConstraint;
+import com.examscheduler.constraint.RoomCapacityConstraint;
+import com.examscheduler.constraint.Violation;
+import com.examscheduler.entity.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Small hand-built schedules shared by the constraint tests. Sessions are linked to their
+ * exams and students the way the scheduler links them.
+ */
+final class TestSchedules {
+    static final LocalDate DAY1 = LocalDate.of(2025, 6, 10);
+    static final LocalDate DAY2 = LocalDate.of(2025, 6, 11);
+
+    static final Room ROOM1 = new Room("R1", "Room 1", 10);
+    static final Room ROOM2 = new Room("R2", "Room 2", 10);
+    static final Room SMALL_ROOM = new Room("R3", "Small Room", 1);
+
+    private TestSchedules() {
+    }
+
+    static Schedule emptySchedule(int maxExamsPerDay, int minimumGapMinutes) {
+        Schedule schedule = new Schedule("TEST", "Test Schedule", DAY1, DAY2);
+        schedule.addConstraint(new NoOverlapConstraint());
+        schedule.addConstraint(new MaxExamsPerDayConstraint(maxExamsPerDay));
+        schedule.addConstraint(new NoConsecutiveExamsConstraint(minimumGapMinutes));
+        schedule.addConstraint(new RoomCapacityConstraint());
+        return schedule;
+    }
+
+    static Student student(String id) {
+        return new Student(id, "First" + id, "Last" + id, id.toLowerCase() + "@example.com");
+    }
+
+    static TimeSlot slot(LocalDate date, int startHour, int startMinute, int endHour, int endMinute) {
+        return new TimeSlot(date, LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute));
+    }
+
+    /**
+     * Session of a new exam with the same id, linked to the exam and the students.
+     */
+    static ExamSession session(String id, TimeSlot slot, Room room, Student... students) {
+        Exam exam = new Exam(id, null, "FINAL", 120);
+        ExamSession session = new ExamSession(id, exam, slot, room);
+        for (Student student : students) {
+            session.assignStudent(student);
+            student.assignExamSession(session);
+        }
+        exam.addExamSession(session);
+        return session;
+    }
+
+    static void unlink(ExamSession session) {
+        for (Student student : session.getAssignedStudents()) {
+            student.removeExamSession(session);
+        }
+    }
+
+    static void link(ExamSession session) {
+        for (Student student : session.getAssignedStudents()) {
+            student.assignExamSession(session);
+        }
+    }
+
+    /**
+     * A day with overlapping, back-to-back and double-booked sessions, and a second day
+     * with a shared slot:
+     * <ul>
+     *   <li>S1 sits A and B, which overlap; S3 sits B and C, which overlap;</li>
+     *   <li>S2 sits A and C, back to back; S4 sits E and D, back to back;</li>
+     *   <li>Room 1 hosts A, C and D, where D overlaps both A and C;</li>
+     *   <li>on day 2 F and G share Room 1 at the same time, and S1 goes from F to H.</li>
+     * </ul>
+     */
+    static List<ExamSession> busyWeek() {
+        Student s1 = student("S1");
+        Student s2 = student("S2");
+        Student s3 = student("S3");
+        Student s4 = student("S4");
+        List<ExamSession> sessions = new ArrayList<>();
+        sessions.add(session("A", slot(DAY1, 9, 0, 11, 0), ROOM1, s1, s2));
+        sessions.add(session("B", slot(DAY1, 10, 0, 12, 0), ROOM2, s1, s3));
+        sessions.add(session("C", slot(DAY1, 11, 0, 13, 0), ROOM1, s2, s3));
+        sessions.add(session("D", slot(DAY1, 10, 0, 12, 0), ROOM1, s4));
+        sessions.add(session("E", slot(DAY1, 9, 0, 10, 0), ROOM2, s4));
+        sessions.add(session("F", slot(DAY2, 9, 0, 11, 0), ROOM1, s1, s2, s3));
+        sessions.add(session("G", slot(DAY2, 9, 0, 11, 0), ROOM1, s4));
+        sessions.add(session("H", slot(DAY2, 11, 0, 13, 0), ROOM2, s1));
+        sessions.add(session("I", slot(DAY2, 14, 0, 16, 0), ROOM2, s1, s4));
+        return sessions;
+    }
+
+    static List<String> sortedMessages(List<Violation> violations) {
+        List<String> messages = Violation.messages(violations);
+        Collections.sort(messages);
+        return messages;
+    }
+
+    static List<String> sorted(List<String> messages) {
+        List<String> copy = new ArrayList<>(messages);
+        Collections.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,64 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.entity.*;
+
+import java.util.List;
+
+import static com.examscheduler.scheduler.TestProblems.*;
+
+public class BranchAndBoundTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== Starting BranchAndBound Tests ===\n");
+
+        testKeepsBothExamsOfAPair();
+        testOptimumPlacesEveryExam();
+
+        System.out.println("\n=== All Tests Completed ===");
+    }
+
+    private static void testKeepsBothExamsOfAPair() {
+        System.out.println("TEST: Optimum Keeps a Back-to-Back Pair Rather Than Drop an Exam");
+
+        Student student = student("S1");
+        SchedulingState state = state(List.of(exam("A", student), exam("B", student)),
+                List.of(slot(DAY1, 9, 11), slot(DAY1, 11, 13)), List.of(room("R1", 10)));
+        state.place(0, 0, state.chooseRooms(0, 1, null));
+        state.place(1, 1, state.chooseRooms(1, 1, null));
+
+        BranchAndBound search = new BranchAndBound(state, new int[]{0, 1}, 2, 1_000_000, Long.MAX_VALUE, null);
+        assert search.run() : "Two exams should be searched exhaustively";
+        assert state.getUnplacedCount() == 0 : "The optimum left an exam unscheduled";
+        assert state.countConsecutivePairs() == 1 : "Both exams placed means one back-to-back pair";
+        assert search.getBestCost() == SimulatedAnnealing.costOf(state) : "The best cost should match the state";
+
+        System.out.println("  ✓ Proved optimal with both exams placed");
+        System.out.println();
+    }
+
+    private static void testOptimumPlacesEveryExam() {
+        System.out.println("TEST: Optimum Places Every Exam When a Full Assignment Exists");
+
+        // The greedy pass shows a full assignment exists; the search then starts from
+        // nothing placed and has to find one itself.
+        Instance instance = randomInstance(3, 60, 12, 4, 4, true);
+        SchedulingState state = state(instance.exams, instance.slots, instance.rooms);
+        SimulatedAnnealingTest.placeGreedily(state, 2);
+        assert state.getUnplacedCount() == 0 : "The greedy pass should place every exam";
+        long greedyPairs = state.countConsecutivePairs();
+
+        int[] exams = new int[state.getExamCount()];
+        for (int exam = 0; exam < exams.length; exam++) {
+            exams[exam] = exam;
+            state.unplace(exam);
+        }
+        BranchAndBound search = new BranchAndBound(state, exams, 2, 5_000_000, Long.MAX_VALUE, null);
+        boolean proved = search.run();
+        assert state.getUnplacedCount() == 0 : "Branch and bound left exams unscheduled that all fit";
+        assert !proved || state.countConsecutivePairs() <= greedyPairs : "A proved optimum cannot lose to the greedy pass";
+
+        System.out.println("  ✓ Every exam placed; pairs " + state.countConsecutivePairs() + " (greedy " + greedyPairs
+                + ")" + (proved ? ", proved optimal" : ", node limit reached"));
+        System.out.println();
+    }
+}
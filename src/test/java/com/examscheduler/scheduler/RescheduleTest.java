@@ -0,0 +1,195 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.constraint.NoOverlapConstraint;
+import com.examscheduler.constraint.Violation;
+import com.examscheduler.entity.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.examscheduler.scheduler.TestProblems.*;
+
+public class RescheduleTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== Starting Reschedule Tests ===\n");
+
+        testAddedStudent();
+        testRemovedRoom();
+        testPreExistingClash();
+        testOccupancyCountsClashes();
+
+        System.out.println("\n=== All Tests Completed ===");
+    }
+
+    private static void testAddedStudent() {
+        System.out.println("TEST: Added Student Keeps the Exam in Its Slot");
+
+        Instance instance = randomInstance(3, 300, 24, 6, 5, false);
+        Scheduler scheduler = instance.scheduler(2);
+        scheduler.setRandomSeed(7);
+        scheduler.setComponentDecomposition(false);
+        scheduler.setImprovementTimeBudgetMillis(0);
+        Schedule schedule = scheduler.generateSchedule(instance.courses, instance.exams);
+        Set<String> placed = placedExams(schedule);
+        Map<String, List<String>> before = sessionsByExam(schedule);
+
+        Exam exam = instance.exams.get(0);
+        TimeSlot slot = exam.getExamSessions().get(0).getTimeSlot();
+        enroll(student("NEW"), exam.getCourse());
+        List<Exam> changed = scheduler.rescheduleExams(schedule, List.of(exam));
+
+        assert placedExams(schedule).equals(placed) : "Every exam should stay placed";
+        for (ExamSession session : exam.getExamSessions()) {
+            assert session.getTimeSlot().equals(slot) : "The exam should stay in its slot";
+        }
+        Map<String, List<String>> after = sessionsByExam(schedule);
+        for (Exam other : instance.exams) {
+            if (!changed.contains(other)) {
+                assert after.get(other.getExamId()).equals(before.get(other.getExamId()))
+                        : "Exam " + other.getExamId() + " was not reported as changed but moved";
+            }
+        }
+        int seated = 0;
+        for (ExamSession session : exam.getExamSessions()) {
+            seated += session.getAssignedStudents().size();
+        }
+        assert seated == exam.getCourse().getEnrollments().size() : "The new student should be seated";
+
+        System.out.println("  ✓ " + exam.getExamId() + " stayed in its slot, " + changed.size() + " exam(s) changed");
+        System.out.println();
+    }
+
+    private static void testRemovedRoom() {
+        System.out.println("TEST: Removed Room Moves the Fewest Exams");
+
+        // W loses its room and only fits in Big at its own slot, so Y, the smaller exam
+        // there, moves to the small room left on the other day.
+        Room big = room("BIG", 20);
+        Room mid = room("MID", 20);
+        Room small = room("SMALL", 10);
+        TimeSlot first = slot(DAY1, 9, 11);
+        TimeSlot second = slot(DAY1.plusDays(1), 9, 11);
+        Exam x = exam("X", students("X", 15));
+        Exam w = exam("W", students("W", 15));
+        Exam y = exam("Y", students("Y", 5));
+        Schedule schedule = new Schedule();
+        schedule.addExamSession(session(x, first, big));
+        schedule.addExamSession(session(w, second, mid));
+        schedule.addExamSession(session(y, second, big));
+
+        Scheduler scheduler = new Scheduler(List.of(big, small), List.of(first, second), 1);
+        scheduler.setRandomSeed(1);
+        List<Exam> changed = scheduler.rescheduleExams(schedule, List.of());
+
+        assert placedExams(schedule).equals(Set.of("X", "W", "Y")) : "Every exam should stay placed";
+        assert !changed.contains(x) : "X did not need to move";
+        assert onlySession(w).getTimeSlot() == second && onlySession(w).getRoom() == big
+                : "W should take Big in its own slot";
+        assert onlySession(y).getTimeSlot() == first && onlySession(y).getRoom() == small
+                : "Y should make way in the small room";
+        for (ExamSession session : schedule.getExamSessions()) {
+            assert session.getRoom() != mid : "No session should use the removed room";
+        }
+
+        System.out.println("  ✓ W kept its slot, one other exam moved");
+        System.out.println();
+    }
+
+    private static void testPreExistingClash() {
+        System.out.println("TEST: Pre-Existing Clash Is Resolved");
+
+        Student s1 = student("S1");
+        Student s2 = student("S2");
+        Room r1 = room("R1", 10);
+        Room r2 = room("R2", 10);
+        TimeSlot first = slot(DAY1, 9, 11);
+        TimeSlot second = slot(DAY1.plusDays(1), 9, 11);
+        Exam a = exam("A", s1, s2);
+        Exam b = exam("B", s1);
+        Exam c = exam("C", s2);
+        Schedule schedule = new Schedule();
+        ExamSession sessionA = session(a, first, r1);
+        ExamSession sessionC = session(c, second, r1);
+        schedule.addExamSession(sessionA);
+        schedule.addExamSession(session(b, first, r2));
+        schedule.addExamSession(sessionC);
+
+        Scheduler scheduler = new Scheduler(List.of(r1, r2), List.of(first, second), 2);
+        scheduler.setRandomSeed(1);
+        List<Exam> changed = scheduler.rescheduleExams(schedule, List.of());
+
+        assert changed.equals(List.of(b)) : "Only B should move, got " + changed;
+        assert schedule.getExamSessions().contains(sessionA) && schedule.getExamSessions().contains(sessionC)
+                : "A and C should keep their sessions";
+        assert onlySession(b).getTimeSlot() == second : "B should move away from A";
+        for (Violation violation : new NoOverlapConstraint().check(schedule)) {
+            assert violation.type() != Violation.Type.STUDENT_OVERLAP : violation.getMessage();
+        }
+
+        System.out.println("  ✓ B moved, A and C kept their sessions");
+        System.out.println();
+    }
+
+    private static void testOccupancyCountsClashes() {
+        System.out.println("TEST: Student Occupancy Counts Clashing Exams");
+
+        Student s1 = student("S1");
+        Exam a = exam("A", s1);
+        Exam b = exam("B", s1);
+        SchedulingState state = state(List.of(a, b), List.of(slot(DAY1, 9, 11)), List.of(room("R1", 10), room("R2", 10)));
+        int student = state.getStudent(0, 0);
+        state.place(0, 0, new int[]{0});
+        state.place(1, 0, new int[]{1});
+        state.unplace(1);
+
+        assert state.getStudentOccupancy().isOccupied(student, 0) : "A still holds the student";
+        state.unplace(0);
+        assert !state.getStudentOccupancy().isOccupied(student, 0) : "Nothing holds the student";
+
+        System.out.println("  ✓ Releasing one of two clashing exams keeps the student busy");
+        System.out.println();
+    }
+
+    private static Student[] students(String prefix, int count) {
+        Student[] students = new Student[count];
+        for (int i = 0; i < count; i++) {
+            students[i] = student(prefix + i);
+        }
+        return students;
+    }
+
+    /**
+     * Session seating everyone enrolled in the exam's course, linked like a generated one.
+     */
+    private static ExamSession session(Exam exam, TimeSlot slot, Room room) {
+        ExamSession session = new ExamSession(exam.getExamId() + "-S1", exam, slot, room);
+        for (Enrollment enrollment : exam.getCourse().getEnrollments()) {
+            session.assignStudent(enrollment.getStudent());
+            enrollment.getStudent().assignExamSession(session);
+        }
+        exam.addExamSession(session);
+        return session;
+    }
+
+    private static ExamSession onlySession(Exam exam) {
+        assert exam.getExamSessions().size() == 1 : "Exam " + exam.getExamId() + " should have one session";
+        return exam.getExamSessions().get(0);
+    }
+
+    private static Map<String, List<String>> sessionsByExam(Schedule schedule) {
+        Map<String, List<String>> sessions = new HashMap<>();
+        for (ExamSession session : schedule.getExamSessions()) {
+            sessions.computeIfAbsent(session.getExam().getExamId(), id -> new ArrayList<>())
+                    .add(session.getTimeSlot() + "/" + session.getRoom().getRoomId() + "x"
+                            + session.getAssignedStudents().size());
+        }
+        for (List<String> list : sessions.values()) {
+            list.sort(null);
+        }
+        return sessions;
+    }
+}
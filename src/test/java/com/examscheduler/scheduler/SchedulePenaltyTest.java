@@ -0,0 +1,102 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.constraint.Violation;
+import com.examscheduler.entity.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.examscheduler.scheduler.TestProblems.*;
+
+public class SchedulePenaltyTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== Starting SchedulePenalty Tests ===\n");
+
+        testMoveDeltaMatchesRecount();
+        testPenaltyPassLowersPenalty();
+
+        System.out.println("\n=== All Tests Completed ===");
+    }
+
+    private static void testMoveDeltaMatchesRecount() {
+        System.out.println("TEST: Move Delta Matches a Full Recount");
+
+        Instance instance = randomInstance(5, 300, 24, 6, 5, true);
+        Scheduler scheduler = instance.scheduler(2);
+        scheduler.setImprovementTimeBudgetMillis(0);
+        Schedule schedule = scheduler.generateSchedule(instance.courses, instance.exams);
+        PenaltyWeights weights = new PenaltyWeights(1.0, 3.0, 2.0);
+        SchedulePenalty penalty = new SchedulePenalty(schedule, instance.slots, weights);
+        schedule.startIncrementalValidation();
+
+        Random random = new Random(11);
+        List<ExamSession> sessions = schedule.getExamSessions();
+        for (int move = 0; move < 200; move++) {
+            ExamSession session = sessions.get(random.nextInt(sessions.size()));
+            TimeSlot target = instance.slots.get(random.nextInt(instance.slots.size()));
+            double before = penalty.getTotal();
+            double predicted = penalty.moveDelta(session, target);
+            penalty.move(session, target);
+
+            double recount = new SchedulePenalty(schedule, instance.slots, weights).getTotal();
+            assert session.getTimeSlot() == target : "The session should have moved";
+            assert Math.abs(before + predicted - recount) < 1e-6
+                    : "Move " + move + ": predicted " + (before + predicted) + " but recount " + recount;
+            assert Math.abs(penalty.getTotal() - recount) < 1e-6
+                    : "Move " + move + ": kept " + penalty.getTotal() + " but recount " + recount;
+        }
+        assert sortedMessages(schedule.getCurrentViolations()).equals(sortedMessages(schedule.checkViolations()))
+                : "Moves should reach the schedule's constraints";
+
+        System.out.println("  ✓ 200 random moves priced and applied like a full recount");
+        System.out.println();
+    }
+
+    private static void testPenaltyPassLowersPenalty() {
+        System.out.println("TEST: Penalty Pass Lowers the Penalty Without New Violations");
+
+        // Zero weights turn the pass into a no-op, so the first run shows the schedule
+        // the pass starts from; both runs are seeded and single-threaded.
+        Schedule unchanged = generate(new PenaltyWeights(0, 0, 0));
+        Schedule improved = generate(new PenaltyWeights());
+        SchedulePenalty before = new SchedulePenalty(unchanged, null, new PenaltyWeights());
+        SchedulePenalty after = new SchedulePenalty(improved, null, new PenaltyWeights());
+
+        assert placedExams(improved).equals(placedExams(unchanged)) : "The pass must not drop exams";
+        assert after.getTotal() < before.getTotal()
+                : "The pass should lower the penalty: " + before.getTotal() + " -> " + after.getTotal();
+        int[] violationsBefore = countBySeverity(unchanged.checkViolations());
+        int[] violationsAfter = countBySeverity(improved.checkViolations());
+        assert violationsAfter[0] <= violationsBefore[0] && violationsAfter[1] <= violationsBefore[1]
+                : "The pass must not add violations";
+
+        System.out.printf("  ✓ Penalty %.2f -> %.2f%n", before.getTotal(), after.getTotal());
+        System.out.println();
+    }
+
+    private static Schedule generate(PenaltyWeights weights) {
+        Instance instance = randomInstance(1, 600, 48, 8, 8, true);
+        Scheduler scheduler = instance.scheduler(2);
+        scheduler.setRandomSeed(42);
+        scheduler.setComponentDecomposition(false);
+        scheduler.setImprovementTimeBudgetMillis(10_000);
+        scheduler.setPenaltyWeights(weights);
+        return scheduler.generateSchedule(instance.courses, instance.exams);
+    }
+
+    private static int[] countBySeverity(List<Violation> violations) {
+        int[] counts = new int[2];
+        for (Violation violation : violations) {
+            counts[violation.severity() == Violation.Severity.HARD ? 0 : 1]++;
+        }
+        return counts;
+    }
+
+    private static List<String> sortedMessages(List<Violation> violations) {
+        List<String> messages = new ArrayList<>(Violation.messages(violations));
+        messages.sort(null);
+        return messages;
+    }
+}
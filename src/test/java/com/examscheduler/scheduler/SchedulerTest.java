@@ -0,0 +1,169 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.entity.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.examscheduler.scheduler.TestProblems.*;
+
+public class SchedulerTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== Starting Scheduler Tests ===\n");
+
+        testFixedSeedIsDeterministic();
+        testPortfolioNotWorseThanItsRuns();
+        testDecompositionPlacesAsManyExams();
+        testDeadlineReturnsBestSnapshot();
+        testCancelReturnsBestSnapshot();
+
+        System.out.println("\n=== All Tests Completed ===");
+    }
+
+    private static void testFixedSeedIsDeterministic() {
+        System.out.println("TEST: Fixed Seed Gives the Same Schedule");
+
+        // Without an improvement budget nothing depends on timing.
+        Instance instance = randomInstance(2, 400, 32, 6, 5, true);
+        Schedule first = seeded(instance, 99, 1).generateSchedule(instance.courses, instance.exams);
+        Schedule second = seeded(instance, 99, 1).generateSchedule(instance.courses, instance.exams);
+
+        assert !first.getExamSessions().isEmpty() : "The run should place exams";
+        assert assignment(first).equals(assignment(second)) : "Two runs with one seed should agree";
+
+        System.out.println("  ✓ " + first.getExamSessions().size() + " sessions identical in both runs");
+        System.out.println();
+    }
+
+    private static void testPortfolioNotWorseThanItsRuns() {
+        System.out.println("TEST: Portfolio Is Not Worse Than a Single Run");
+
+        // A portfolio run draws its seed from the scheduler's random, so seeding a single
+        // run with the same draw repeats it.
+        Instance instance = randomInstance(4, 600, 48, 6, 4, true);
+        Scheduler portfolio = seeded(instance, 17, 4);
+        long[] portfolioQuality = quality(instance, portfolio.generateSchedule(instance.courses, instance.exams));
+
+        Random seeds = new Random(17);
+        for (int run = 0; run < 4; run++) {
+            Scheduler single = seeded(instance, seeds.nextLong(), 1);
+            long[] runQuality = quality(instance, single.generateSchedule(instance.courses, instance.exams));
+            assert compare(portfolioQuality, runQuality) <= 0
+                    : "Portfolio " + describe(portfolioQuality) + " lost to run " + run + " " + describe(runQuality);
+        }
+
+        System.out.println("  ✓ Portfolio kept " + describe(portfolioQuality));
+        System.out.println();
+    }
+
+    private static void testDecompositionPlacesAsManyExams() {
+        System.out.println("TEST: Decomposition Places as Many Exams as a Monolithic Run");
+
+        // Eight departments without shared students give eight components.
+        Instance instance = randomInstance(6, 400, 48, 8, 5, false);
+        Scheduler monolithic = seeded(instance, 5, 1);
+        Schedule whole = monolithic.generateSchedule(instance.courses, instance.exams);
+        Scheduler decomposed = seeded(instance, 5, 1);
+        decomposed.setComponentDecomposition(true);
+        Schedule split = decomposed.generateSchedule(instance.courses, instance.exams);
+
+        assert placedExams(split).size() == placedExams(whole).size()
+                : "Decomposition placed " + placedExams(split).size() + " exams, monolithic "
+                + placedExams(whole).size();
+
+        System.out.println("  ✓ Both placed " + placedExams(whole).size() + " of " + instance.exams.size() + " exams");
+        System.out.println();
+    }
+
+    private static void testDeadlineReturnsBestSnapshot() {
+        System.out.println("TEST: Deadline Returns the Best Snapshot");
+
+        Instance instance = randomInstance(8, 600, 48, 6, 4, true);
+        Scheduler scheduler = seeded(instance, 3, 1);
+        List<Schedule> snapshots = new ArrayList<>();
+        long start = System.nanoTime();
+        Schedule schedule = scheduler.generateSchedule(instance.courses, instance.exams, Duration.ofMillis(300),
+                null, snapshots::add);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assert !snapshots.isEmpty() : "The construction pass should publish a snapshot";
+        Schedule last = snapshots.get(snapshots.size() - 1);
+        assert compare(quality(instance, schedule), quality(instance, last)) <= 0
+                : "The result " + describe(quality(instance, schedule)) + " is worse than the last snapshot "
+                + describe(quality(instance, last));
+        assert elapsedMillis < 2_000 : "The deadline was overrun: " + elapsedMillis + " ms";
+
+        System.out.println("  ✓ " + snapshots.size() + " snapshot(s), result " + describe(quality(instance, schedule))
+                + " after " + elapsedMillis + " ms");
+        System.out.println();
+    }
+
+    private static void testCancelReturnsBestSnapshot() {
+        System.out.println("TEST: Cancel Returns the Best Snapshot");
+
+        // Cancelling from the first snapshot stops the run right after construction.
+        Instance instance = randomInstance(8, 600, 48, 6, 4, true);
+        Scheduler scheduler = seeded(instance, 3, 1);
+        scheduler.setImprovementTimeBudgetMillis(60_000);
+        CancellationToken token = new CancellationToken();
+        List<Schedule> snapshots = new ArrayList<>();
+        long start = System.nanoTime();
+        Schedule schedule = scheduler.generateSchedule(instance.courses, instance.exams, null, token, snapshot -> {
+            snapshots.add(snapshot);
+            token.cancel();
+        });
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assert snapshots.size() == 1 : "Nothing should be published after the cancel";
+        assert compare(quality(instance, schedule), quality(instance, snapshots.get(0))) <= 0
+                : "The result " + describe(quality(instance, schedule)) + " is worse than the snapshot "
+                + describe(quality(instance, snapshots.get(0)));
+        assert elapsedMillis < 10_000 : "The cancel was ignored: " + elapsedMillis + " ms";
+
+        System.out.println("  ✓ Stopped after " + elapsedMillis + " ms with " + describe(quality(instance, schedule)));
+        System.out.println();
+    }
+
+    private static Scheduler seeded(Instance instance, long seed, int portfolioSize) {
+        Scheduler scheduler = instance.scheduler(2);
+        scheduler.setRandomSeed(seed);
+        scheduler.setPortfolioSize(portfolioSize);
+        scheduler.setComponentDecomposition(false);
+        scheduler.setImprovementTimeBudgetMillis(0);
+        return scheduler;
+    }
+
+    /**
+     * Unscheduled exams and back-to-back pairs of a schedule, counted the way the scheduler
+     * ranks portfolio runs: the sessions are loaded into a fresh state of the same problem.
+     */
+    private static long[] quality(Instance instance, Schedule schedule) {
+        SchedulingState state = state(instance.exams, instance.slots, instance.rooms);
+        for (int exam = 0; exam < state.getExamCount(); exam++) {
+            List<Integer> rooms = new ArrayList<>();
+            int slot = -1;
+            for (ExamSession session : schedule.getExamSessions()) {
+                if (session.getExam().getExamId().equals(state.getConflictGraph().getExam(exam).getExamId())) {
+                    slot = state.getSlotIndex().indexOf(session.getTimeSlot());
+                    rooms.add(state.getRoomOccupancy().indexOf(session.getRoom()));
+                }
+            }
+            if (slot >= 0) {
+                state.place(exam, slot, rooms.stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+        return new long[]{state.getUnplacedCount(), state.countConsecutivePairs()};
+    }
+
+    private static int compare(long[] quality, long[] other) {
+        int unplaced = Long.compare(quality[0], other[0]);
+        return unplaced != 0 ? unplaced : Long.compare(quality[1], other[1]);
+    }
+
+    private static String describe(long[] quality) {
+        return quality[0] + " unscheduled, " + quality[1] + " back-to-back";
+    }
+}
@@ -0,0 +1,94 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.entity.*;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.examscheduler.scheduler.TestProblems.*;
+
+public class SimulatedAnnealingTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== Starting SimulatedAnnealing Tests ===\n");
+
+        testKeepsExamsOverRemovingPairs();
+        testNeverLosesPlacedExams();
+
+        System.out.println("\n=== All Tests Completed ===");
+    }
+
+    private static void testKeepsExamsOverRemovingPairs() {
+        System.out.println("TEST: A Placed Exam Is Never Traded for a Removed Pair");
+
+        // Two exams of one student and only two slots, back to back: B can only be
+        // scheduled by adding a pair, and with both placed the pair can only go by
+        // unscheduling one of them again.
+        for (long seed = 1; seed <= 5; seed++) {
+            Student student = student("S1");
+            SchedulingState state = state(List.of(exam("A", student), exam("B", student)),
+                    List.of(slot(DAY1, 9, 11), slot(DAY1, 11, 13)), List.of(room("R1", 10)));
+            state.place(0, 0, state.chooseRooms(0, 1, null));
+
+            SimulatedAnnealing annealing = new SimulatedAnnealing(state, 2, new Random(seed), 50, 500.0, 0.95);
+            annealing.run();
+            assert state.getUnplacedCount() == 0 : "Seed " + seed + " left B unscheduled to avoid a pair";
+            assert state.countConsecutivePairs() == 1 : "Both exams placed means one back-to-back pair";
+            assert annealing.getBestCost() < annealing.getInitialCost() : "Scheduling B should lower the cost";
+
+            annealing = new SimulatedAnnealing(state, 2, new Random(seed), 50, 500.0, 0.95);
+            annealing.run();
+            assert state.getUnplacedCount() == 0 : "Seed " + seed + " unscheduled an exam to remove a pair";
+        }
+
+        System.out.println("  ✓ Both exams get placed and stay placed, with the pair");
+        System.out.println();
+    }
+
+    private static void testNeverLosesPlacedExams() {
+        System.out.println("TEST: Annealing Never Ends With More Unscheduled Exams");
+
+        Instance instance = randomInstance(7, 600, 48, 6, 3, true);
+        for (long seed = 1; seed <= 3; seed++) {
+            SchedulingState state = state(instance.exams, instance.slots, instance.rooms);
+            placeGreedily(state, 2);
+            int unplacedBefore = state.getUnplacedCount();
+            long pairsBefore = state.countConsecutivePairs();
+
+            SimulatedAnnealing annealing = new SimulatedAnnealing(state, 2, new Random(seed), 100, 500.0, 0.95);
+            annealing.run();
+            int unplacedAfter = state.getUnplacedCount();
+            long pairsAfter = state.countConsecutivePairs();
+
+            assert unplacedAfter <= unplacedBefore
+                    : "Seed " + seed + ": unscheduled exams went from " + unplacedBefore + " to " + unplacedAfter;
+            assert unplacedAfter < unplacedBefore || pairsAfter <= pairsBefore
+                    : "Seed " + seed + ": pairs went from " + pairsBefore + " to " + pairsAfter;
+            assert annealing.getBestCost() == SimulatedAnnealing.costOf(state) : "The best assignment should be kept";
+            System.out.println("  Seed " + seed + ": unscheduled " + unplacedBefore + " -> " + unplacedAfter
+                    + ", pairs " + pairsBefore + " -> " + pairsAfter);
+        }
+
+        System.out.println("  ✓ Unscheduled exams first, then pairs, never got worse");
+        System.out.println();
+    }
+
+    /**
+     * Each exam in index order takes the first slot it fits in.
+     */
+    static void placeGreedily(SchedulingState state, int maxExamsPerDay) {
+        for (int exam = 0; exam < state.getExamCount(); exam++) {
+            int studentCount = state.getStudentCount(exam);
+            for (int slot = 0; slot < state.getSlotIndex().size() && studentCount > 0; slot++) {
+                if (SlotEvaluator.evaluate(state, exam, slot, studentCount, maxExamsPerDay) != SlotVerdict.FEASIBLE) {
+                    continue;
+                }
+                int[] rooms = state.chooseRooms(slot, studentCount, null);
+                if (rooms != null) {
+                    state.place(exam, slot, rooms);
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.examscheduler.scheduler;
+
+import com.examscheduler.entity.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Scheduling problems shared by the scheduler tests: hand-built exams for small cases and
+ * seeded random instances for comparing whole runs. Exams take their students from the
+ * enrollments of their course, as the scheduler reads them.
+ */
+final class TestProblems {
+    static final LocalDate DAY1 = LocalDate.of(2025, 6, 10);
+
+    private static int enrollmentIds;
+
+    private TestProblems() {
+    }
+
+    static Student student(String id) {
+        return new Student(id, "First" + id, "Last" + id, id.toLowerCase() + "@example.com");
+    }
+
+    /**
+     * Exam of a new course with the same id, the given students enrolled in the course.
+     */
+    static Exam exam(String id, Student... students) {
+        Course course = new Course(id, "Course " + id, id, 3);
+        for (Student student : students) {
+            enroll(student, course);
+        }
+        return new Exam(id, course, "FINAL", 120);
+    }
+
+    static void enroll(Student student, Course course) {
+        Enrollment enrollment = new Enrollment("E" + (++enrollmentIds), student, course);
+        course.addEnrollment(enrollment);
+        student.addEnrollment(enrollment);
+    }
+
+    static TimeSlot slot(LocalDate date, int startHour, int endHour) {
+        return new TimeSlot(date, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0));
+    }
+
+    static Room room(String id, int capacity) {
+        return new Room(id, "Room " + id, capacity);
+    }
+
+    static SchedulingState state(List<Exam> exams, List<TimeSlot> slots, List<Room> rooms) {
+        return new SchedulingState(new ProblemInstance(exams, slots, rooms));
+    }
+
+    /**
+     * Courses, exams, rooms and slots of a random problem; the same seed always gives the
+     * same problem, built from new entities.
+     */
+    static final class Instance {
+        final List<Course> courses = new ArrayList<>();
+        final List<Exam> exams = new ArrayList<>();
+        final List<Room> rooms = new ArrayList<>();
+        final List<TimeSlot> slots = new ArrayList<>();
+        final List<Student> students = new ArrayList<>();
+
+        Scheduler scheduler(int maxExamsPerDay) {
+            return new Scheduler(rooms, slots, maxExamsPerDay);
+        }
+    }
+
+    /**
+     * Students in eight departments taking five courses of their department each, and
+     * three two-hour slots per day, back to back when {@code backToBack} is set.
+     */
+    static Instance randomInstance(long seed, int studentCount, int courseCount, int roomCount, int days,
+                                   boolean backToBack) {
+        Random random = new Random(seed);
+        Instance instance = new Instance();
+        for (int c = 0; c < courseCount; c++) {
+            instance.courses.add(new Course("C" + c, "Course " + c, "CS" + c, 3));
+        }
+        int perDepartment = Math.max(5, courseCount / 8);
+        for (int s = 0; s < studentCount; s++) {
+            Student student = student("S" + s);
+            instance.students.add(student);
+            int first = random.nextInt(8) * courseCount / 8;
+            Set<Integer> picks = new HashSet<>();
+            while (picks.size() < 5) {
+                picks.add((first + random.nextInt(perDepartment)) % courseCount);
+            }
+            for (int c : picks) {
+                enroll(student, instance.courses.get(c));
+            }
+        }
+        for (int r = 0; r < roomCount; r++) {
+            instance.rooms.add(room("R" + r, 30 + random.nextInt(8) * 20));
+        }
+        int[] starts = backToBack ? new int[]{9, 11, 13} : new int[]{9, 12, 15};
+        for (int d = 0; d < days; d++) {
+            for (int start : starts) {
+                instance.slots.add(slot(DAY1.plusDays(d), start, start + 2));
+            }
+        }
+        for (Course course : instance.courses) {
+            instance.exams.add(new Exam(course.getCourseCode(), course, "FINAL", 120));
+        }
+        return instance;
+    }
+
+    /**
+     * Ids of the exams with at least one session in the schedule.
+     */
+    static Set<String> placedExams(Schedule schedule) {
+        Set<String> placed = new HashSet<>();
+        for (ExamSession session : schedule.getExamSessions()) {
+            placed.add(session.getExam().getExamId());
+        }
+        return placed;
+    }
+
+    /**
+     * Exam, slot and room of every session, for comparing two schedules of the same problem.
+     */
+    static List<String> assignment(Schedule schedule) {
+        List<String> assignment = new ArrayList<>();
+        for (ExamSession session : schedule.getExamSessions()) {
+            assignment.add(session.getSessionId() + "@" + session.getTimeSlot() + "/" + session.getRoom().getRoomId()
+                    + "x" + session.getAssignedStudents().size());
+        }
+        assignment.sort(null);
+        return assignment;
+    }
+}